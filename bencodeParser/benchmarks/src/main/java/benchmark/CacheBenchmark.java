@@ -0,0 +1,77 @@
+package benchmark;
+
+import cache.ParseCache;
+import error.Reporter;
+import lexer.ByteInput;
+import org.openjdk.jmh.annotations.*;
+import printer.Transcoder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class CacheBenchmark {
+    private static final String VARIANT = "UTF8 pretty(1)";
+
+    @Param({"SMALL_TORRENT", "MULTI_FILE_TORRENT"})
+    private Corpus corpus;
+
+    private byte[] input;
+    private ParseCache warm;
+    private ParseCache cold;
+
+    @Setup
+    public void setup() {
+        input = corpus.generate();
+        warm = ParseCache.of(64 << 20);
+        cold = ParseCache.of(64 << 20);
+        warm.put(ByteBuffer.wrap(input), VARIANT, transcode());
+    }
+
+    private byte[] transcode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 2);
+        Transcoder.transcode(ByteInput.of(ByteBuffer.wrap(input)), out, new Reporter(10));
+        return out.toByteArray();
+    }
+
+    private ByteBuffer cached(ParseCache cache) {
+        ByteBuffer cached = cache.get(ByteBuffer.wrap(input), VARIANT);
+        if (cached != null) return cached;
+
+        byte[] output = transcode();
+        cache.put(ByteBuffer.wrap(input), VARIANT, output);
+        return ByteBuffer.wrap(output);
+    }
+
+    @Benchmark
+    public byte[] uncached(Bytes bytes) {
+        bytes.bytes += input.length;
+        return transcode();
+    }
+
+    @Benchmark
+    public ByteBuffer hit(Bytes bytes) {
+        bytes.bytes += input.length;
+        return cached(warm);
+    }
+
+    @Benchmark
+    public ByteBuffer miss(Bytes bytes) {
+        bytes.bytes += input.length;
+        cold.clear();
+        return cached(cold);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ByteBuffer hitContended(Bytes bytes) {
+        bytes.bytes += input.length;
+        return cached(warm);
+    }
+}
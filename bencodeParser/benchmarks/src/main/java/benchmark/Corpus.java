@@ -0,0 +1,114 @@
+package benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+public enum Corpus {
+    DHT_MESSAGE {
+        @Override
+        byte[] generate(Random random) {
+            StringBuilder str = new StringBuilder("d1:ad2:id20:");
+            for (int i = 0; i < 20; i++) str.append((char) ('a' + random.nextInt(26)));
+            str.append("6:target20:");
+            for (int i = 0; i < 20; i++) str.append((char) ('a' + random.nextInt(26)));
+            return bytes(str.append("e1:q9:find_node1:t2:aa1:y1:qe"));
+        }
+    },
+    SMALL_TORRENT {
+        @Override
+        byte[] generate(Random random) {
+            StringBuilder str = new StringBuilder();
+            str.append("d8:announce35:http://tracker.example.org/announce")
+                    .append("7:comment12:small sample")
+                    .append("13:creation datei1656403200e")
+                    .append("4:infod6:lengthi").append(random.nextInt(1 << 30)).append('e')
+                    .append("4:name9:small.iso12:piece lengthi262144e");
+            appendPieces(str, random, 64);
+            return bytes(str.append("ee"));
+        }
+    },
+    MULTI_FILE_TORRENT {
+        @Override
+        byte[] generate(Random random) {
+            StringBuilder str = new StringBuilder("d8:announce35:http://tracker.example.org/announce4:infod5:filesl");
+            for (int i = 0; i < 5000; i++) {
+                String directory = "dir" + random.nextInt(100);
+                String name = "file" + i + ".bin";
+                str.append("d6:lengthi").append(random.nextLong() & 0xFFFFFFFFFL).append("e4:pathl")
+                        .append(directory.length()).append(':').append(directory)
+                        .append(name.length()).append(':').append(name).append("ee");
+            }
+            str.append("e4:name5:multi12:piece lengthi1048576e");
+            appendPieces(str, random, 2000);
+            return bytes(str.append("ee"));
+        }
+    },
+    DEEP_LISTS {
+        @Override
+        byte[] generate(Random random) {
+            StringBuilder str = new StringBuilder();
+            for (int document = 0; document < 50; document++) {
+                str.append("l".repeat(500));
+                for (int i = 0; i < 500; i++) str.append('i').append(random.nextInt()).append("e");
+                str.append("e".repeat(500));
+            }
+            return bytes(str);
+        }
+    },
+    FLAT_DICTIONARY {
+        @Override
+        byte[] generate(Random random) {
+            StringBuilder str = new StringBuilder("d");
+            for (int i = 0; i < 100_000; i++) {
+                str.append("9:k").append("%08d".formatted(i));
+                if (random.nextBoolean()) str.append('i').append(random.nextLong()).append('e');
+                else str.append("6:v").append("%05d".formatted(random.nextInt(100_000)));
+            }
+            return bytes(str.append('e'));
+        }
+    },
+    STRING_HEAVY {
+        @Override
+        byte[] generate(Random random) {
+            String[] words = {"movie", "\u0444\u0438\u043b\u044c\u043c", "say \"hi\"", "C:\\Videos", "tab\there", "line\nbreak"};
+            StringBuilder str = new StringBuilder("d4:infod5:filesl");
+            for (int i = 0; i < 5000; i++) {
+                StringBuilder name = new StringBuilder();
+                for (int j = 0; j < 6; j++) name.append(words[random.nextInt(words.length)]).append(' ');
+                String path = name.append(i).toString();
+                str.append("d6:lengthi").append(random.nextInt(1 << 30)).append("e4:pathl")
+                        .append(path.getBytes(StandardCharsets.UTF_8).length).append(':').append(path).append("ee");
+            }
+            return str.append("e4:name5:filesee").toString().getBytes(StandardCharsets.UTF_8);
+        }
+    },
+    LIST_DUMP {
+        @Override
+        byte[] generate(Random random) {
+            StringBuilder str = new StringBuilder("l");
+            for (int i = 0; i < 200_000; i++) {
+                String name = "file" + random.nextInt(1_000_000) + ".bin";
+                str.append("d2:idi").append(i).append("e6:lengthi").append(random.nextLong() & 0xFFFFFFFFFL)
+                        .append("e4:name").append(name.length()).append(':').append(name).append('e');
+            }
+            return bytes(str.append('e'));
+        }
+    };
+
+    private static final long SEED = 20220628;
+
+    abstract byte[] generate(Random random);
+
+    public byte[] generate() {
+        return generate(new Random(SEED));
+    }
+
+    private static void appendPieces(StringBuilder str, Random random, int count) {
+        str.append("6:pieces").append(count * 20).append(':');
+        for (int i = 0; i < count * 20; i++) str.append((char) ('a' + random.nextInt(26)));
+    }
+
+    private static byte[] bytes(StringBuilder str) {
+        return str.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
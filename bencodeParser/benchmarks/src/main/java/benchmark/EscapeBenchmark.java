@@ -0,0 +1,91 @@
+package benchmark;
+
+import error.Reporter;
+import lexer.ByteInput;
+import org.openjdk.jmh.annotations.*;
+import parser.BencodeReader;
+import parser.Expr;
+import printer.JsonPrinter;
+import printer.JsonWriter;
+import printer.Transcoder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class EscapeBenchmark {
+
+    @Param({"STRING_HEAVY", "MULTI_FILE_TORRENT"})
+    private Corpus corpus;
+
+    private byte[] input;
+    private List<Expr> expressions;
+    private final List<String> strings = new ArrayList<>();
+    private long chars;
+
+    @Setup
+    public void setup() {
+        input = corpus.generate();
+        expressions = BencodeReader.parse(ByteInput.of(ByteBuffer.wrap(input)), new Reporter(10));
+        if (expressions == null) throw new IllegalStateException("Invalid corpus " + corpus);
+        expressions.forEach(this::collect);
+        chars = strings.stream().mapToInt(String::length).sum();
+    }
+
+    private void collect(Expr expr) {
+        switch (expr) {
+            case Expr.Line n -> strings.add(n.value().toString());
+            case Expr.Array n -> n.value().forEach(this::collect);
+            case Expr.Dictionary n -> n.value().forEach((key, value) -> {
+                strings.add(key.toString());
+                collect(value);
+            });
+            default -> {}
+        }
+    }
+
+    @Benchmark
+    public String tableDriven(Bytes bytes) {
+        bytes.bytes += chars;
+        StringBuilder out = new StringBuilder();
+        JsonWriter writer = JsonWriter.of(out);
+        writer.startList();
+        strings.forEach(writer::string);
+        writer.end();
+        return out.toString();
+    }
+
+    @Benchmark
+    public String replaceChain(Bytes bytes) {
+        bytes.bytes += chars;
+        StringBuilder out = new StringBuilder("[");
+        for (String str : strings) {
+            if (out.length() > 1) out.append(", ");
+            out.append('"').append(str.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n")
+                    .replace("\r", "\\r").replace("\t", "\\t").replace("\b", "\\b").replace("\f", "\\f")).append('"');
+        }
+        return out.append(']').toString();
+    }
+
+    @Benchmark
+    public String jsonPrinterPrint(Bytes bytes) {
+        bytes.bytes += input.length;
+        return JsonPrinter.print(expressions);
+    }
+
+    @Benchmark
+    public byte[] transcode(Bytes bytes) {
+        bytes.bytes += input.length;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 2);
+        Transcoder.transcode(ByteInput.of(ByteBuffer.wrap(input)), out, new Reporter(10));
+        return out.toByteArray();
+    }
+}
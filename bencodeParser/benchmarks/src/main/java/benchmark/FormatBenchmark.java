@@ -0,0 +1,73 @@
+package benchmark;
+
+import error.Reporter;
+import lexer.ByteInput;
+import org.openjdk.jmh.annotations.*;
+import parser.BencodeReader;
+import parser.Expr;
+import printer.BinaryFormat;
+import printer.JsonFormat;
+import printer.JsonPrinter;
+import printer.Transcoder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class FormatBenchmark {
+
+    @Param({"MULTI_FILE_TORRENT", "LIST_DUMP"})
+    private Corpus corpus;
+
+    @Param({"compact", "pretty", "pretty4"})
+    private String format;
+
+    private byte[] input;
+    private List<Expr> expressions;
+    private JsonFormat jsonFormat;
+
+    @Setup
+    public void setup() {
+        input = corpus.generate();
+        expressions = BencodeReader.parse(ByteInput.of(ByteBuffer.wrap(input)), new Reporter(10));
+        if (expressions == null) throw new IllegalStateException("Invalid corpus " + corpus);
+        jsonFormat = switch (format) {
+            case "compact" -> JsonFormat.COMPACT;
+            case "pretty" -> JsonFormat.PRETTY;
+            case "pretty4" -> JsonFormat.pretty(4);
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+
+        long size = transcode(jsonFormat).length;
+        long pretty = transcode(JsonFormat.PRETTY).length;
+        System.out.printf("%n%s %s: %d bytes of json from %d bytes of bencode, %.1f%% of pretty%n",
+                corpus, jsonFormat, size, input.length, 100.0 * size / pretty);
+    }
+
+    @Benchmark
+    public String jsonPrinterPrint(Bytes bytes) {
+        bytes.bytes += input.length;
+        StringBuilder out = new StringBuilder();
+        JsonPrinter.print(expressions, out, BinaryFormat.UTF8, jsonFormat);
+        return out.toString();
+    }
+
+    @Benchmark
+    public byte[] transcode(Bytes bytes) {
+        bytes.bytes += input.length;
+        return transcode(jsonFormat);
+    }
+
+    private byte[] transcode(JsonFormat jsonFormat) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 2);
+        Transcoder.transcode(ByteInput.of(ByteBuffer.wrap(input)), out, BinaryFormat.UTF8, jsonFormat, new Reporter(10));
+        return out.toByteArray();
+    }
+}
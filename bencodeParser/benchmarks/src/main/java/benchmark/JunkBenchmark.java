@@ -0,0 +1,106 @@
+package benchmark;
+
+import error.Diagnostics;
+import error.Reporter;
+import lexer.ByteInput;
+import lexer.ByteLexer;
+import lexer.Lexer;
+import lexer.Token;
+import org.openjdk.jmh.annotations.*;
+import parser.BencodeReader;
+import parser.Expr;
+import parser.Parser;
+import printer.Transcoder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class JunkBenchmark {
+
+    public enum Junk {
+        HTTP_REQUEST {
+            @Override
+            byte[] generate(Random random) {
+                return "GET /announce?info_hash=%12%34 HTTP/1.1\r\nHost: tracker.example.org\r\n\r\n"
+                        .getBytes(StandardCharsets.US_ASCII);
+            }
+        },
+        RANDOM_BYTES {
+            @Override
+            byte[] generate(Random random) {
+                byte[] bytes = new byte[256];
+                random.nextBytes(bytes);
+                return bytes;
+            }
+        },
+        TRUNCATED_DHT {
+            @Override
+            byte[] generate(Random random) {
+                byte[] message = Corpus.DHT_MESSAGE.generate();
+                return Arrays.copyOf(message, message.length - 3);
+            }
+        },
+        UNCLOSED_DEEP_LIST {
+            @Override
+            byte[] generate(Random random) {
+                return "l".repeat(400).concat("i1e").getBytes(StandardCharsets.US_ASCII);
+            }
+        };
+
+        abstract byte[] generate(Random random);
+    }
+
+    @Param
+    private Junk junk;
+
+    private byte[] input;
+    private final Diagnostics diagnostics = Diagnostics.failFast();
+
+    @Setup
+    public void setup() {
+        input = junk.generate(new Random(42));
+        if (BencodeReader.parse(ByteInput.of(ByteBuffer.wrap(input)), Diagnostics.failFast()) != null)
+            throw new IllegalStateException("Junk " + junk + " is valid bencode");
+    }
+
+    @Benchmark
+    public List<Expr> bencodeReader(Bytes bytes) {
+        bytes.bytes += input.length;
+        diagnostics.clear();
+        return BencodeReader.parse(ByteInput.of(ByteBuffer.wrap(input)), diagnostics);
+    }
+
+    @Benchmark
+    public List<Expr> byteLexerParser(Bytes bytes) {
+        bytes.bytes += input.length;
+        diagnostics.clear();
+        List<Token> tokens = ByteLexer.scan(ByteBuffer.wrap(input), diagnostics);
+        return tokens == null ? null : Parser.parse(tokens, diagnostics);
+    }
+
+    @Benchmark
+    public List<Expr> lexerParser(Bytes bytes) {
+        bytes.bytes += input.length;
+        diagnostics.clear();
+        List<Token> tokens = Lexer.scan(MainInterpret.reader(input), diagnostics);
+        return tokens == null ? null : Parser.parse(tokens, diagnostics);
+    }
+
+    @Benchmark
+    public boolean transcodeWithReporter(Bytes bytes) {
+        bytes.bytes += input.length;
+        return Transcoder.transcode(ByteInput.of(ByteBuffer.wrap(input)), new ByteArrayOutputStream(),
+                new Reporter(10, message -> {}));
+    }
+}
@@ -0,0 +1,34 @@
+package benchmark;
+
+import lexer.ByteInput;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.charset.StandardCharsets;
+
+final class MainInterpret {
+    private static final MethodHandle INTERPRET;
+
+    static {
+        try {
+            INTERPRET = MethodHandles.lookup().findStatic(Class.forName("Main"), "interpret",
+                    MethodType.methodType(String.class, ByteInput.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private MainInterpret() {}
+
+    static BufferedReader reader(byte[] input) {
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(input), StandardCharsets.US_ASCII));
+    }
+
+    static String interpret(byte[] input) throws Throwable {
+        return (String) INTERPRET.invokeExact(ByteInput.of(new ByteArrayInputStream(input)), 10);
+    }
+}
@@ -0,0 +1,74 @@
+package benchmark;
+
+import error.Reporter;
+import lexer.ByteInput;
+import lexer.ByteLexer;
+import lexer.TokenBuffer;
+import metrics.Document;
+import metrics.Metrics;
+import metrics.Stage;
+import org.openjdk.jmh.annotations.*;
+import parser.Expr;
+import parser.Parser;
+import printer.JsonPrinter;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class MetricsBenchmark {
+
+    @Param({"DHT_MESSAGE", "SMALL_TORRENT"})
+    private Corpus corpus;
+
+    private byte[] input;
+    private final Metrics metrics = Metrics.of();
+
+    @Setup
+    public void setup() {
+        input = corpus.generate();
+    }
+
+    @Benchmark
+    public String plain(Bytes bytes) {
+        bytes.bytes += input.length;
+        Reporter reporter = new Reporter(10);
+        TokenBuffer tokens = ByteLexer.tokenize(ByteInput.of(ByteBuffer.wrap(input)), reporter);
+        List<Expr> expressions = Parser.parse(tokens, reporter);
+        return JsonPrinter.print(expressions);
+    }
+
+    @Benchmark
+    public String instrumented(Bytes bytes) {
+        bytes.bytes += input.length;
+        Reporter reporter = new Reporter(10);
+        Document document = metrics.start("benchmark", input.length);
+        TokenBuffer tokens = ByteLexer.tokenize(ByteInput.of(ByteBuffer.wrap(input)), reporter);
+        document.stage(Stage.LEX, tokens.size());
+
+        Parser parser = Parser.of().reset(tokens, reporter);
+        List<Expr> expressions = parser.parse();
+        document.stage(Stage.PARSE, parser.nodes());
+
+        String json = JsonPrinter.print(expressions);
+        document.stage(Stage.PRINT, parser.nodes());
+        document.end(true);
+        return json;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void documentOnly() {
+        Document document = metrics.start("benchmark", 0);
+        document.stage(Stage.LEX, 1);
+        document.stage(Stage.PARSE, 1);
+        document.stage(Stage.PRINT, 1);
+        document.end(true);
+    }
+}
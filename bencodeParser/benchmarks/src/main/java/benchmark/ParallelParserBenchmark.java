@@ -0,0 +1,56 @@
+package benchmark;
+
+import error.Reporter;
+import lexer.ByteInput;
+import org.openjdk.jmh.annotations.*;
+import parser.BencodeReader;
+import parser.Expr;
+import parser.ParallelParser;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ParallelParserBenchmark {
+
+    @Param({"LIST_DUMP", "FLAT_DICTIONARY"})
+    private Corpus corpus;
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    private byte[] input;
+    private ForkJoinPool pool;
+    private ParallelParser parser;
+
+    @Setup
+    public void setup() {
+        input = corpus.generate();
+        pool = new ForkJoinPool(threads);
+        parser = ParallelParser.of(pool, 256 << 10);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<Expr> sequential(Bytes bytes) {
+        bytes.bytes += input.length;
+        return BencodeReader.parse(ByteInput.of(ByteBuffer.wrap(input)), new Reporter(10));
+    }
+
+    @Benchmark
+    public List<Expr> parallel(Bytes bytes) {
+        bytes.bytes += input.length;
+        return parser.parse(ByteBuffer.wrap(input), new Reporter(10));
+    }
+}
@@ -0,0 +1,48 @@
+package benchmark;
+
+import error.Reporter;
+import lexer.ByteInput;
+import org.openjdk.jmh.annotations.*;
+import parser.BencodeReader;
+import parser.Expr;
+import query.PathQuery;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class QueryBenchmark {
+
+    @Param({"MULTI_FILE_TORRENT", "SMALL_TORRENT"})
+    private Corpus corpus;
+
+    @Param({"announce", "info.files[*].length"})
+    private String path;
+
+    private byte[] input;
+    private PathQuery query;
+
+    @Setup
+    public void setup() {
+        input = corpus.generate();
+        query = PathQuery.compile(path);
+    }
+
+    @Benchmark
+    public List<Expr> streamed(Bytes bytes) {
+        bytes.bytes += input.length;
+        return query.evaluate(ByteInput.of(ByteBuffer.wrap(input)), new Reporter(10));
+    }
+
+    @Benchmark
+    public List<Expr> parsedTree(Bytes bytes) {
+        bytes.bytes += input.length;
+        return query.evaluate(BencodeReader.parse(ByteInput.of(ByteBuffer.wrap(input)), new Reporter(10)));
+    }
+}
@@ -0,0 +1,59 @@
+package benchmark;
+
+import error.Reporter;
+import lexer.ByteInput;
+import lexer.ByteLexer;
+import lexer.Token;
+import org.openjdk.jmh.annotations.*;
+import parser.BencodeReader;
+import parser.Expr;
+import parser.Parser;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ReuseBenchmark {
+
+    @Param({"DHT_MESSAGE", "SMALL_TORRENT"})
+    private Corpus corpus;
+
+    private ByteBuffer input;
+    private final Reporter reporter = new Reporter(10);
+
+    @Setup
+    public void setup() {
+        input = ByteBuffer.wrap(corpus.generate());
+    }
+
+    @Benchmark
+    public List<Expr> freshLexerParser(Bytes bytes) {
+        bytes.bytes += input.remaining();
+        return Parser.parse(ByteLexer.scan(input, reporter), reporter);
+    }
+
+    @Benchmark
+    public List<Expr> reusedLexerParser(Bytes bytes) {
+        bytes.bytes += input.remaining();
+        List<Token> tokens = ByteLexer.local().reset(input, reporter).scan();
+        return Parser.local().reset(tokens, reporter).parse();
+    }
+
+    @Benchmark
+    public List<Expr> freshReader(Bytes bytes) {
+        bytes.bytes += input.remaining();
+        return BencodeReader.parse(ByteInput.of(input), reporter);
+    }
+
+    @Benchmark
+    public List<Expr> reusedReader(Bytes bytes) {
+        bytes.bytes += input.remaining();
+        return BencodeReader.local().reset(input).readAll(reporter);
+    }
+}
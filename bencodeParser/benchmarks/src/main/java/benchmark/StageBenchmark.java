@@ -0,0 +1,108 @@
+package benchmark;
+
+import error.Reporter;
+import lexer.ByteInput;
+import lexer.ByteLexer;
+import lexer.Lexer;
+import lexer.Token;
+import lexer.TokenBuffer;
+import org.openjdk.jmh.annotations.*;
+import parser.Expr;
+import parser.Parser;
+import parser.Tape;
+import printer.BencodeEncoder;
+import printer.JsonPrinter;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class StageBenchmark {
+
+    @Param
+    private Corpus corpus;
+
+    private byte[] input;
+    private List<Token> tokens;
+    private TokenBuffer columns;
+    private final ByteLexer lexer = ByteLexer.of();
+    private List<Expr> expressions;
+    private ByteBuffer output;
+
+    @Setup
+    public void setup() {
+        input = corpus.generate();
+        tokens = ByteLexer.scan(ByteBuffer.wrap(input), new Reporter(10));
+        columns = ByteLexer.tokenize(ByteInput.of(ByteBuffer.wrap(input)), new Reporter(10));
+        expressions = Parser.parse(tokens, new Reporter(10));
+        if (expressions == null) throw new IllegalStateException("Invalid corpus " + corpus);
+        output = ByteBuffer.allocate(input.length);
+    }
+
+    @Benchmark
+    public List<Token> lexerScan(Bytes bytes) {
+        bytes.bytes += input.length;
+        return Lexer.scan(MainInterpret.reader(input), new Reporter(10));
+    }
+
+    @Benchmark
+    public List<Token> byteLexerScan(Bytes bytes) {
+        bytes.bytes += input.length;
+        return ByteLexer.scan(ByteInput.of(ByteBuffer.wrap(input)), new Reporter(10));
+    }
+
+    @Benchmark
+    public TokenBuffer byteLexerTokenize(Bytes bytes) {
+        bytes.bytes += input.length;
+        return ByteLexer.tokenize(ByteInput.of(ByteBuffer.wrap(input)), new Reporter(10));
+    }
+
+    @Benchmark
+    public TokenBuffer byteLexerTokenizeReused(Bytes bytes) {
+        bytes.bytes += input.length;
+        return lexer.reset(ByteBuffer.wrap(input), new Reporter(10)).tokenize();
+    }
+
+    @Benchmark
+    public List<Expr> parserParse(Bytes bytes) {
+        bytes.bytes += input.length;
+        return Parser.parse(tokens, new Reporter(10));
+    }
+
+    @Benchmark
+    public List<Expr> parserParseColumns(Bytes bytes) {
+        bytes.bytes += input.length;
+        return Parser.parse(columns, new Reporter(10));
+    }
+
+    @Benchmark
+    public Tape tapeParse(Bytes bytes) {
+        bytes.bytes += input.length;
+        return Tape.parse(ByteBuffer.wrap(input), new Reporter(10));
+    }
+
+    @Benchmark
+    public String jsonPrinterPrint(Bytes bytes) {
+        bytes.bytes += input.length;
+        return JsonPrinter.print(expressions);
+    }
+
+    @Benchmark
+    public ByteBuffer bencodeEncode(Bytes bytes) {
+        bytes.bytes += input.length;
+        output.clear();
+        return BencodeEncoder.encode(expressions, output);
+    }
+
+    @Benchmark
+    public String mainInterpret(Bytes bytes) throws Throwable {
+        bytes.bytes += input.length;
+        return MainInterpret.interpret(input);
+    }
+}
@@ -0,0 +1,43 @@
+package benchmark;
+
+import error.Reporter;
+import lexer.ByteInput;
+import org.openjdk.jmh.annotations.*;
+import printer.Transcoder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class TranscoderBenchmark {
+
+    @Param
+    private Corpus corpus;
+
+    private byte[] input;
+
+    @Setup
+    public void setup() {
+        input = corpus.generate();
+    }
+
+    @Benchmark
+    public String interpret(Bytes bytes) throws Throwable {
+        bytes.bytes += input.length;
+        return MainInterpret.interpret(input);
+    }
+
+    @Benchmark
+    public byte[] transcode(Bytes bytes) {
+        bytes.bytes += input.length;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 2);
+        Transcoder.transcode(ByteInput.of(ByteBuffer.wrap(input)), out, new Reporter(10));
+        return out.toByteArray();
+    }
+}
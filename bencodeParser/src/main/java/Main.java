@@ -1,33 +1,222 @@
+import batch.BatchConverter;
+import cache.ParseCache;
 import error.*;
-import interpreter.Interpreter;
 import lexer.*;
+import metrics.Document;
+import metrics.Metrics;
+import metrics.Stage;
 import parser.*;
+import printer.BinaryFormat;
+import printer.JsonFormat;
+import printer.JsonPrinter;
+import printer.JsonWriter;
+import printer.Transcoder;
+import query.PathQuery;
+import server.ConversionServer;
 
 import java.io.*;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Scanner;
 
 public class Main {
+    private static final long MAX_BATCH_BYTES_IN_FLIGHT = 256L << 20;
+    private static final int MAX_THREADS = 0x7FFF;
 
     public static String interpret(BufferedReader br, int limitErrorMessages) {
+        StringBuilder out = new StringBuilder();
+        return interpret(br, limitErrorMessages, out, BinaryFormat.UTF8, JsonFormat.PRETTY) ? out.toString() : null;
+    }
+
+    public static boolean interpret(BufferedReader br, int limitErrorMessages, Appendable out,
+                                    BinaryFormat binaryFormat, JsonFormat jsonFormat) {
+        Reporter reporter = new Reporter(limitErrorMessages);
+        Document document = Metrics.global().start("interpret", 0);
+        Lexer lexer = Lexer.of().reset(br, reporter);
+        List<Token> tokens = lexer.scan();
+        document.bytes(lexer.characters()).stage(Stage.LEX, tokens == null ? 0 : tokens.size(), tokens != null);
+        if (tokens == null) return document.end(errors(reporter, limitErrorMessages));
+
+        Parser parser = Parser.of().reset(tokens, reporter);
+        List<Expr> expressions = parser.parse();
+        document.stage(Stage.PARSE, parser.nodes(), expressions != null);
+
+        return document.end(print(expressions, parser.nodes(), document, reporter, limitErrorMessages, out,
+                binaryFormat, jsonFormat));
+    }
+
+    public static String interpret(ByteInput input, int limitErrorMessages) {
+        StringBuilder out = new StringBuilder();
+        return interpret(input, limitErrorMessages, out, BinaryFormat.UTF8, JsonFormat.PRETTY) ? out.toString() : null;
+    }
+
+    public static boolean interpret(ByteInput input, int limitErrorMessages, Appendable out,
+                                    BinaryFormat binaryFormat, JsonFormat jsonFormat) {
         Reporter reporter = new Reporter(limitErrorMessages);
-        List<Token> tokens = Lexer.scan(br, reporter);
-        if (tokens == null) {
-            System.err.println("Errors found: " + reporter.getNumberErrors() + "\nLimit error messages: " + limitErrorMessages);
-            return null;
+        Document document = Metrics.global().start("interpret", 0);
+        TokenBuffer tokens = ByteLexer.tokenize(input, reporter);
+        document.bytes(input.offset()).stage(Stage.LEX, tokens == null ? 0 : tokens.size(), tokens != null);
+        if (tokens == null) return document.end(errors(reporter, limitErrorMessages));
+
+        Parser parser = Parser.of().reset(tokens, reporter);
+        List<Expr> expressions = parser.parse();
+        document.stage(Stage.PARSE, parser.nodes(), expressions != null);
+
+        return document.end(print(expressions, parser.nodes(), document, reporter, limitErrorMessages, out,
+                binaryFormat, jsonFormat));
+    }
+
+    public static boolean interpret(ByteInput input, int limitErrorMessages, Appendable out,
+                                    BinaryFormat binaryFormat, JsonFormat jsonFormat, ParseCache cache) {
+        ByteBuffer buffer = cache != null && input.backingBuffer() != null ? input.backingBuffer().duplicate() : null;
+        if (buffer == null) return interpret(input, limitErrorMessages, out, binaryFormat, jsonFormat);
+
+        String variant = binaryFormat + " " + jsonFormat;
+        ByteBuffer cached = cache.get(buffer, variant);
+        if (cached != null) {
+            Metrics.global().start("interpret", buffer.remaining()).end(true);
+            return append(out, StandardCharsets.UTF_8.decode(cached));
         }
-        List<Expr> expressions = Parser.parse(tokens, reporter);
 
-        if (expressions != null) return Interpreter.interpret(expressions);
+        StringBuilder json = new StringBuilder();
+        if (!interpret(input, limitErrorMessages, json, binaryFormat, jsonFormat)) return false;
+        cache.put(buffer, variant, json.toString().getBytes(StandardCharsets.UTF_8));
+        return append(out, json);
+    }
+
+    public static boolean transcode(ByteInput input, int limitErrorMessages, OutputStream out,
+                                    BinaryFormat binaryFormat, JsonFormat jsonFormat) {
+        Reporter reporter = new Reporter(limitErrorMessages);
+        Document document = Metrics.global().start("stream", 0);
+        boolean valid = Transcoder.transcode(input, out, binaryFormat, jsonFormat, reporter);
+        document.bytes(input.offset()).stage(Stage.TRANSCODE, 0, valid);
 
+        return document.end(valid || errors(reporter, limitErrorMessages));
+    }
+
+    public static boolean query(ByteInput input, int limitErrorMessages, PathQuery query,
+                                Appendable out, BinaryFormat binaryFormat, JsonFormat jsonFormat) {
+        Reporter reporter = new Reporter(limitErrorMessages);
+        Document document = Metrics.global().start("query", 0);
+        List<Expr> results = query.evaluate(input, reporter);
+        document.bytes(input.offset()).stage(Stage.QUERY, results == null ? 0 : results.size(), results != null);
+
+        boolean printed = document.end(print(results, results == null ? 0 : results.size(), document, reporter,
+                limitErrorMessages, out, binaryFormat, jsonFormat));
+        return printed && !results.isEmpty();
+    }
+
+    public static boolean interpretParallel(Path path, int limitErrorMessages, Appendable out,
+                                            BinaryFormat binaryFormat, JsonFormat jsonFormat) throws IOException {
+        Reporter reporter = new Reporter(limitErrorMessages);
+        Document document = Metrics.global().start("parallel", Files.size(path));
+        List<Expr> expressions = ParallelParser.of().parse(path, reporter);
+        document.stage(Stage.PARSE, expressions == null ? 0 : expressions.size(), expressions != null);
+
+        return document.end(print(expressions, expressions == null ? 0 : expressions.size(), document, reporter,
+                limitErrorMessages, out, binaryFormat, jsonFormat));
+    }
+
+    public static boolean infoHash(ByteInput input, int limitErrorMessages, Appendable out, JsonFormat jsonFormat) {
+        Reporter reporter = new Reporter(limitErrorMessages);
+        InfoHash infoHash = InfoHash.parse(input, reporter);
+
+        if (infoHash == null) {
+            return errors(reporter, limitErrorMessages);
+        }
+        if (infoHash.hex(InfoHash.SHA1) == null) {
+            System.err.println("No info dictionary");
+            return false;
+        }
+
+        JsonWriter writer = JsonWriter.of(out, BinaryFormat.UTF8, jsonFormat);
+        writer.startDict();
+        writer.key("sha1");
+        writer.string(infoHash.hex(InfoHash.SHA1));
+        writer.key("sha256");
+        writer.string(infoHash.hex(InfoHash.SHA256));
+        writer.end();
+        writer.flush();
+        return true;
+    }
+
+    private static boolean print(List<Expr> expressions, long nodes, Document document, Reporter reporter,
+                                 int limitErrorMessages, Appendable out, BinaryFormat binaryFormat, JsonFormat jsonFormat) {
+        if (expressions == null) return errors(reporter, limitErrorMessages);
+
+        JsonPrinter.print(expressions, out, binaryFormat, jsonFormat);
+        document.stage(Stage.PRINT, nodes);
+        return true;
+    }
+
+    private static boolean append(Appendable out, CharSequence json) {
+        try {
+            out.append(json);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean errors(Reporter reporter, int limitErrorMessages) {
         System.err.println("Errors found: " + reporter.getNumberErrors() + "\nLimit error messages: " + limitErrorMessages);
-        return null;
+        return false;
     }
 
     public static void main(String[] args) throws IOException {
-        if (args.length == 0 || args.length > 2) {
+        List<String> options = Arrays.stream(args).takeWhile(arg -> arg.startsWith("--")).toList();
+        boolean mapped = options.contains("--mmap");
+        boolean stream = options.contains("--stream");
+        boolean parallel = options.contains("--parallel");
+        boolean infoHash = options.contains("--info-hash");
+        BinaryFormat binaryFormat = options.contains("--hex") ? BinaryFormat.HEX
+                : options.contains("--base64") ? BinaryFormat.BASE64 : BinaryFormat.UTF8;
+        String indent = value(options, "--indent=");
+        long indentWidth = indent != null ? number(indent, 0, Integer.MAX_VALUE) : JsonFormat.PRETTY.indent();
+        String path = value(options, "--query=");
+        boolean batch = options.contains("--batch");
+        String port = value(options, "--serve=");
+        long portNumber = port != null ? number(port, 0, 0xFFFF) : 0;
+        String threads = value(options, "--threads=");
+        long threadCount = threads != null ? number(threads, 1, MAX_THREADS) : Runtime.getRuntime().availableProcessors();
+        String cacheSize = value(options, "--cache=");
+        long cacheMiB = cacheSize != null ? number(cacheSize, 0, Long.MAX_VALUE >> 20)
+                : port != null ? ConversionServer.DEFAULT_CACHE_BYTES >> 20 : 0;
+        args = Arrays.copyOfRange(args, options.size(), args.length);
+
+        List<String> known = List.of("--mmap", "--stream", "--parallel", "--info-hash", "--hex", "--base64", "--batch", "--ordered",
+                "--compact", "--metrics");
+        List<String> valued = List.of("--indent=", "--query=", "--threads=", "--out-dir=", "--serve=", "--cache=");
+        if (args.length == 0 && port == null || args.length > 2 && !batch
+                || indentWidth < 0 || portNumber < 0 || threadCount < 0 || cacheMiB < 0
+                || !options.stream().allMatch(option -> known.contains(option)
+                        || valued.stream().anyMatch(option::startsWith))) {
             System.err.println("""
                 Bad input
+                Option --mmap(optional): map the torrent file into memory and read it without copying
+                Option --stream(optional): convert in a single pass, json is written while parsing
+                    on invalid input the output file is emptied, stdout gets nothing for json under 8 KiB
+                Option --parallel(optional): split one huge document by its top-level elements and parse them on all cores
+                Option --info-hash(optional): print sha1 and sha256 of the raw info dictionary instead of json
+                Option --hex or --base64(optional): write every string and dictionary key as hex or base64 instead of UTF-8 text
+                Option --compact(optional): write json without any whitespace, one top-level value per line
+                Option --indent=<n>(optional): indent nested dictionaries by n spaces per level, 1 by default
+                Option --query=<path>(optional): print only values matching path, e.g. info.files[*].length
+                Option --batch(optional): convert every file given by arguments in parallel
+                    arguments are files, directories, globs like 'torrents/**.torrent' or @list with a path per line
+                    --ordered(optional): print results in input order instead of completion order
+                    --threads=<n>(optional): number of worker threads, all cores by default
+                    --out-dir=<dir>(optional): write <name>.json files there instead of printing
+                Option --serve=<port>(optional): run http service, POST bencode to /convert[?format=hex&compact=true&query=<path>]
+                    GET /metrics returns per-stage counters, latency percentiles and cache hits
+                Option --cache=<MiB>(optional): reuse json of inputs converted before, 64 MiB for --serve, off otherwise
+                    repeated inputs are found by content, 0 disables the cache
+                Option --metrics(optional): print per-stage counters and latency percentiles to stderr on exit
+                    stages are also published over JMX under bencode:type=Stage and as bencode.Document JFR events
                 First argument: path to torrent file
                 Second argument(optional): path to json file
                 If second argument missing, create default out.json
@@ -35,15 +224,109 @@ public class Main {
             return;
         }
 
-        try (BufferedReader in = new BufferedReader(new FileReader(args[0]));
-             FileWriter out = args.length > 1 ? new FileWriter(args[1]) : null)
-        {
-            String str = interpret(in, 10);
+        JsonFormat jsonFormat = options.contains("--compact") ? JsonFormat.COMPACT : JsonFormat.pretty((int) indentWidth);
+
+        ParseCache cache = cacheMiB > 0 ? ParseCache.of(cacheMiB << 20) : null;
+
+        if (port != null || batch || options.contains("--metrics")) Metrics.global().register("bencode");
+        if (cache != null) cache.register("bencode");
+        if (options.contains("--metrics"))
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.println(Metrics.global())));
+
+        if (port != null) {
+            ConversionServer server = ConversionServer.start(new InetSocketAddress((int) portNumber),
+                    ConversionServer.executor(), cache);
+            System.err.println("Listening on " + server.address());
+            return;
+        }
+
+        if (batch) {
+            String outDir = value(options, "--out-dir=");
+            if (outDir != null) Files.createDirectories(Path.of(outDir));
+
+            BatchConverter converter = BatchConverter.of(
+                    (int) threadCount,
+                    MAX_BATCH_BYTES_IN_FLIGHT, options.contains("--ordered"),
+                    outDir != null ? Path.of(outDir) : null, binaryFormat, jsonFormat, 10, cache);
+
+            try (OutputStream out = new BufferedOutputStream(System.out, 1 << 16)) {
+                System.err.println(converter.convert(BatchConverter.expand(Arrays.asList(args)), out));
+                if (cache != null) System.err.println(cache);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage());
+            }
+            return;
+        }
+
+        if (path != null) {
+            PathQuery query;
+            try {
+                query = PathQuery.compile(path);
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage());
+                return;
+            }
+
+            try (InputStream in = mapped ? null : new FileInputStream(args[0]);
+                 BufferedWriter out = new BufferedWriter(writer(args)))
+            {
+                ByteInput input = mapped ? ByteInput.map(Path.of(args[0])) : ByteInput.of(in);
+                if (query(input, 10, query, out, binaryFormat, jsonFormat) && args.length == 1) out.newLine();
+            }
+            return;
+        }
+
+        if (stream) {
+            try (InputStream in = mapped ? null : new FileInputStream(args[0]);
+                 FileOutputStream out = args.length > 1 ? new FileOutputStream(args[1]) : null)
+            {
+                ByteInput input = mapped ? ByteInput.map(Path.of(args[0])) : ByteInput.of(in);
+                boolean printed = transcode(input, 10, out != null ? out : System.out, binaryFormat, jsonFormat);
+                if (printed && args.length == 1) System.out.println();
+                if (!printed && out != null) out.getChannel().truncate(0);
+            }
+            return;
+        }
+
+        try (BufferedWriter out = new BufferedWriter(writer(args))) {
+            boolean printed;
+            if (infoHash) {
+                try (InputStream in = mapped ? null : new FileInputStream(args[0])) {
+                    printed = infoHash(mapped ? ByteInput.map(Path.of(args[0])) : ByteInput.of(in), 10, out, jsonFormat);
+                }
+            } else if (parallel) {
+                printed = interpretParallel(Path.of(args[0]), 10, out, binaryFormat, jsonFormat);
+            } else {
+                boolean whole = mapped || cache != null;
+                try (InputStream in = whole ? null : new FileInputStream(args[0])) {
+                    printed = interpret(whole ? ByteInput.map(Path.of(args[0])) : ByteInput.of(in), 10, out,
+                            binaryFormat, jsonFormat, cache);
+                }
+            }
+
+            if (printed && args.length == 1) out.newLine();
+        }
+    }
 
-            if (str == null) return;
+    private static String value(List<String> options, String prefix) {
+        return options.stream().filter(option -> option.startsWith(prefix))
+                .map(option -> option.substring(prefix.length())).findFirst().orElse(null);
+    }
 
-            if (args.length == 1) System.out.println(str);
-            else out.write(str);
+    private static long number(String value, long min, long max) {
+        try {
+            long number = Long.parseLong(value);
+            return number >= min && number <= max ? number : -1;
+        } catch (NumberFormatException e) {
+            return -1;
         }
     }
+
+    private static Writer writer(String[] args) throws IOException {
+        return args.length > 1
+                ? new FileWriter(args[1], StandardCharsets.UTF_8)
+                : new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+    }
 }
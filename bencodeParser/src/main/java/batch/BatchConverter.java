@@ -0,0 +1,237 @@
+package batch;
+
+import cache.ParseCache;
+import error.Diagnostics;
+import lexer.ByteInput;
+import metrics.Document;
+import metrics.Metrics;
+import metrics.Stage;
+import printer.BinaryFormat;
+import printer.JsonFormat;
+import printer.Transcoder;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+public class BatchConverter {
+    private static final Future<Result> END = CompletableFuture.completedFuture(null);
+
+    private final int parallelism;
+    private final long maxBytesInFlight;
+    private final boolean ordered;
+    private final Path outputDirectory;
+    private final BinaryFormat binaryFormat;
+    private final JsonFormat jsonFormat;
+    private final int limitErrorMessages;
+    private final ParseCache cache;
+
+    private final Semaphore bytesInFlight;
+
+    public record Result(Path path, byte[] json, long bytes, int errors, int cost) {}
+
+    public record Summary(int files, int failed, long bytes, long nanos) {
+        @Override
+        public String toString() {
+            double seconds = nanos / 1e9;
+            return "Converted %d files (%d failed), %.1f MB in %.2f s: %.1f MB/s, %.0f files/s"
+                    .formatted(files, failed, bytes / 1e6, seconds, bytes / 1e6 / seconds, files / seconds);
+        }
+    }
+
+    private BatchConverter(int parallelism, long maxBytesInFlight, boolean ordered, Path outputDirectory,
+                           BinaryFormat binaryFormat, JsonFormat jsonFormat, int limitErrorMessages, ParseCache cache) {
+        this.parallelism = parallelism;
+        this.maxBytesInFlight = maxBytesInFlight;
+        this.ordered = ordered;
+        this.outputDirectory = outputDirectory;
+        this.binaryFormat = binaryFormat;
+        this.jsonFormat = jsonFormat;
+        this.limitErrorMessages = limitErrorMessages;
+        this.cache = cache;
+        this.bytesInFlight = new Semaphore((int) Math.min(maxBytesInFlight, Integer.MAX_VALUE));
+    }
+
+    public static BatchConverter of(int parallelism, long maxBytesInFlight, boolean ordered, Path outputDirectory,
+                                    BinaryFormat binaryFormat, int limitErrorMessages) {
+        return of(parallelism, maxBytesInFlight, ordered, outputDirectory, binaryFormat, JsonFormat.PRETTY,
+                limitErrorMessages, null);
+    }
+
+    public static BatchConverter of(int parallelism, long maxBytesInFlight, boolean ordered, Path outputDirectory,
+                                    BinaryFormat binaryFormat, JsonFormat jsonFormat, int limitErrorMessages,
+                                    ParseCache cache) {
+        return new BatchConverter(parallelism, maxBytesInFlight, ordered, outputDirectory, binaryFormat, jsonFormat,
+                limitErrorMessages, cache);
+    }
+
+    public static List<Path> expand(List<String> inputs) throws IOException {
+        List<Path> paths = new ArrayList<>();
+
+        for (String input : inputs) {
+            if (input.startsWith("@")) {
+                try (Stream<String> lines = Files.lines(Path.of(input.substring(1)))) {
+                    lines.map(String::strip).filter(line -> !line.isEmpty()).map(Path::of).forEach(paths::add);
+                }
+            } else if (input.chars().anyMatch(c -> "*?[{".indexOf(c) >= 0)) {
+                paths.addAll(glob(input));
+            } else if (Files.isDirectory(Path.of(input))) {
+                try (Stream<Path> files = Files.walk(Path.of(input))) {
+                    files.filter(Files::isRegularFile).sorted().forEach(paths::add);
+                }
+            } else {
+                paths.add(Path.of(input));
+            }
+        }
+        return paths;
+    }
+
+    private static List<Path> glob(String pattern) throws IOException {
+        int wildcard = 0;
+        while ("*?[{".indexOf(pattern.charAt(wildcard)) < 0) wildcard++;
+
+        int separator = pattern.lastIndexOf('/', wildcard);
+        Path base = Path.of(separator < 0 ? "." : pattern.substring(0, separator + 1));
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+
+        try (Stream<Path> files = Files.walk(base)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(path -> matcher.matches(separator < 0 ? base.relativize(path) : path))
+                    .sorted().toList();
+        }
+    }
+
+    public Summary convert(List<Path> paths, OutputStream out) throws IOException, InterruptedException {
+        if (outputDirectory != null) checkTargets(paths);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        BlockingQueue<Future<Result>> submitted = new LinkedBlockingQueue<>();
+        BlockingQueue<Future<Result>> completed = new LinkedBlockingQueue<>();
+        long start = System.nanoTime();
+
+        Thread producer = new Thread(() -> {
+            try {
+                for (Path path : paths) {
+                    int cost = cost(path);
+                    bytesInFlight.acquire(cost);
+
+                    CompletableFuture<Result> result = CompletableFuture.supplyAsync(() -> convert(path, cost), pool);
+                    submitted.put(result);
+                    result.whenComplete((value, error) -> completed.add(result));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                submitted.add(END);
+            }
+        }, "batch-producer");
+        producer.start();
+
+        int files = 0;
+        int failed = 0;
+        long bytes = 0;
+        try {
+            Future<Result> next;
+            while ((next = submitted.take()) != END) {
+                Result result = join(ordered ? next : completed.take());
+                try {
+                    files++;
+                    bytes += result.bytes();
+                    if (result.json() == null) failed++;
+                    else write(result, out);
+                } finally {
+                    bytesInFlight.release(result.cost());
+                }
+            }
+        } finally {
+            producer.interrupt();
+            pool.shutdown();
+        }
+        out.flush();
+
+        return new Summary(files, failed, bytes, System.nanoTime() - start);
+    }
+
+    private Result convert(Path path, int cost) {
+        Diagnostics diagnostics = Diagnostics.of(limitErrorMessages);
+        try {
+            byte[] input = Files.readAllBytes(path);
+            Document document = Metrics.global().start("batch", input.length);
+            String variant = binaryFormat + " " + jsonFormat;
+            ByteBuffer cached = cache != null ? cache.get(ByteBuffer.wrap(input), variant) : null;
+            if (cached != null) {
+                document.end(true);
+                byte[] json = new byte[cached.remaining()];
+                cached.get(json);
+                return new Result(path, json, input.length, 0, cost);
+            }
+
+            ByteArrayOutputStream json = new ByteArrayOutputStream(input.length * 2);
+            boolean valid = Transcoder.transcode(ByteInput.of(ByteBuffer.wrap(input)), json, binaryFormat, jsonFormat,
+                    diagnostics);
+            document.stage(Stage.TRANSCODE, 0, valid);
+            if (document.end(valid)) {
+                byte[] output = json.toByteArray();
+                if (cache != null) cache.put(ByteBuffer.wrap(input), variant, output);
+                return new Result(path, output, input.length, 0, cost);
+            }
+
+            System.err.print("Errors found in " + path + ": " + Math.max(diagnostics.count(), 1) + "\n" + diagnostics);
+            return new Result(path, null, input.length, diagnostics.count(), cost);
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Cannot read " + path + ": " + e.getMessage());
+            return new Result(path, null, 0, 1, cost);
+        }
+    }
+
+    private static void checkTargets(List<Path> paths) {
+        Map<Path, Path> sources = new HashMap<>();
+        for (Path path : paths) {
+            Path previous = sources.putIfAbsent(target(path), path);
+            if (previous != null && !previous.equals(path)) {
+                throw new IllegalArgumentException("Both " + previous + " and " + path + " would be written to "
+                        + target(path) + ", rename one of them or convert them separately");
+            }
+        }
+    }
+
+    private static Path target(Path path) {
+        return Path.of(path.getFileName() + ".json");
+    }
+
+    private void write(Result result, OutputStream out) throws IOException {
+        if (outputDirectory == null) {
+            out.write(result.json());
+            out.write('\n');
+            return;
+        }
+
+        Files.write(outputDirectory.resolve(target(result.path())), result.json());
+    }
+
+    private int cost(Path path) {
+        try {
+            return cost(Files.size(path));
+        } catch (IOException e) {
+            return 1;
+        }
+    }
+
+    private int cost(long bytes) {
+        return (int) Math.max(1, Math.min(bytes * 3, maxBytesInFlight));
+    }
+
+    private static Result join(Future<Result> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
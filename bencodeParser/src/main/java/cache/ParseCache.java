@@ -0,0 +1,202 @@
+package cache;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class ParseCache implements ParseCacheMXBean {
+    private static final int MAX_SEGMENTS = 16;
+    private static final long MIN_SEGMENT_BYTES = 1 << 20;
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private static final long SEED = ThreadLocalRandom.current().nextLong();
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private final long maxBytes;
+    private final long segmentBytes;
+    private final Segment[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private record Key(long hash, int length, String variant) {}
+
+    private record Entry(byte[] input, byte[] output) {
+        long weight() {
+            return (long) input.length + output.length + ENTRY_OVERHEAD;
+        }
+    }
+
+    private static final class Segment {
+        private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long bytes;
+    }
+
+    private ParseCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+        int count = (int) Math.max(1, Math.min(MAX_SEGMENTS, Long.highestOneBit(maxBytes / MIN_SEGMENT_BYTES)));
+        this.segmentBytes = maxBytes / count;
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) segments[i] = new Segment();
+    }
+
+    public static ParseCache of(long maxBytes) {
+        if (maxBytes <= 0) throw new IllegalArgumentException("Cache size must be positive: " + maxBytes);
+        return new ParseCache(maxBytes);
+    }
+
+    public ByteBuffer get(ByteBuffer input, String variant) {
+        long hash = hash(input);
+        Segment segment = segment(hash);
+        Entry entry;
+        synchronized (segment) {
+            entry = segment.entries.get(new Key(hash, input.remaining(), variant));
+        }
+
+        if (entry != null && ByteBuffer.wrap(entry.input).equals(input)) {
+            hits.increment();
+            return ByteBuffer.wrap(entry.output).asReadOnlyBuffer();
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(ByteBuffer input, String variant, byte[] output) {
+        byte[] copy = new byte[input.remaining()];
+        input.duplicate().get(copy);
+        Entry entry = new Entry(copy, output);
+        if (entry.weight() > segmentBytes) return;
+
+        long hash = hash(input);
+        Segment segment = segment(hash);
+        synchronized (segment) {
+            Entry previous = segment.entries.put(new Key(hash, copy.length, variant), entry);
+            segment.bytes += entry.weight() - (previous != null ? previous.weight() : 0);
+
+            Iterator<Entry> eldest = segment.entries.values().iterator();
+            while (segment.bytes > segmentBytes) {
+                segment.bytes -= eldest.next().weight();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.entries.clear();
+                segment.bytes = 0;
+            }
+        }
+    }
+
+    static long hash(ByteBuffer input) {
+        ByteBuffer data = input.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int i = data.position();
+        int limit = data.limit();
+
+        long h1 = SEED, h2 = SEED + C1, h3 = SEED + C2, h4 = SEED - C1;
+        for (; i + 4 * Long.BYTES <= limit; i += 4 * Long.BYTES) {
+            h1 = round(h1, data.getLong(i));
+            h2 = round(h2, data.getLong(i + 8));
+            h3 = round(h3, data.getLong(i + 16));
+            h4 = round(h4, data.getLong(i + 24));
+        }
+        long h = Long.rotateLeft(h1, 1) + Long.rotateLeft(h2, 7) + Long.rotateLeft(h3, 12) + Long.rotateLeft(h4, 18)
+                ^ (limit - data.position()) * C1;
+
+        for (; i + Long.BYTES <= limit; i += Long.BYTES) h = round(h, data.getLong(i));
+        long tail = 0;
+        for (int shift = 0; i < limit; i++, shift += 8) tail |= (data.get(i) & 0xFFL) << shift;
+        h = round(h, tail);
+
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ h >>> 33;
+    }
+
+    private static long round(long h, long k) {
+        return Long.rotateLeft(h ^ Long.rotateLeft(k * C1, 31) * C2, 27) * 5 + 0x52dce729;
+    }
+
+    private Segment segment(long hash) {
+        return segments[(int) (hash >>> 32) & segments.length - 1];
+    }
+
+    public void register(String domain) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(domain + ":type=ParseCache");
+            if (!server.isRegistered(name)) server.registerMBean(this, name);
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register cache in " + domain, e);
+        }
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public double getHitRate() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public long getEntries() {
+        long entries = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                entries += segment.entries.size();
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public long getBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                bytes += segment.bytes;
+            }
+        }
+        return bytes;
+    }
+
+    @Override
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "cache: %d hits, %d misses, %.1f%% hit rate, %d evictions, %d entries, %d of %d bytes"
+                .formatted(getHits(), getMisses(), getHitRate() * 100, getEvictions(), getEntries(), getBytes(), maxBytes);
+    }
+}
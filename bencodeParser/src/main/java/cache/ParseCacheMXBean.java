@@ -0,0 +1,18 @@
+package cache;
+
+public interface ParseCacheMXBean {
+
+    long getHits();
+
+    long getMisses();
+
+    double getHitRate();
+
+    long getEvictions();
+
+    long getEntries();
+
+    long getBytes();
+
+    long getMaxBytes();
+}
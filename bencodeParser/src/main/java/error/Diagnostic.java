@@ -0,0 +1,142 @@
+package error;
+
+import lexer.TokenType;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+
+public final class Diagnostic implements Serializable {
+    private static final int ASCII_BARRIER = 127;
+
+    public enum Code {
+        MESSAGE(""),
+        UNKNOWN("Unknown"),
+        EXPECTED_NUMBER("Expected number"),
+        EXPECTED_END("Expected 'e' after"),
+        EXPECTED_COLON("Expected ':' after"),
+        NO_NUMBER("No number"),
+        TOO_LONG_STRING("Too long string"),
+        MISSING_CHARACTERS("Missing characters in string"),
+        NON_ASCII("This string contains non ascii char"),
+        EXPECTED_VALUE("Expected value"),
+        UNEXPECTED_VALUE("Unexpected value"),
+        NO_END("No end complex char"),
+        INVALID_KEY("Invalid key"),
+        WRONG_KEY_ORDER("Wrong key order"),
+        KEY_OUTSIDE_DICTIONARY("Key outside of dictionary"),
+        TOO_LONG_NUMBER("Too long number");
+
+        private final String text;
+
+        Code(String text) {
+            this.text = text;
+        }
+
+        public String text() {
+            return text;
+        }
+    }
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final Code code;
+    private final long offset;
+    private final int line;
+    private final int actual;
+    private final TokenType found;
+    private final TokenType[] expected;
+    private final String source;
+    private final long length;
+
+    private Diagnostic(Code code, long offset, int line, int actual, TokenType found, TokenType[] expected,
+                       String source, long length) {
+        this.code = code;
+        this.offset = offset;
+        this.line = line;
+        this.actual = actual;
+        this.found = found;
+        this.expected = expected;
+        this.source = source;
+        this.length = length;
+    }
+
+    public static Diagnostic of(String message) {
+        return new Diagnostic(Code.MESSAGE, -1, 0, -1, null, null, message, -1);
+    }
+
+    public static Diagnostic at(Code code, long offset, int c) {
+        return new Diagnostic(code, offset, 0, c, null, null, null, -1);
+    }
+
+    public static Diagnostic inLine(Code code, String source, int line, int position) {
+        return new Diagnostic(code, position, line, source.charAt(position), null, null, source, -1);
+    }
+
+    public static Diagnostic unexpected(Code code, int line, long offset, TokenType found, TokenType... expected) {
+        return new Diagnostic(code, offset, line, -1, found, expected, null, -1);
+    }
+
+    public static Diagnostic missing(long offset, long length) {
+        return new Diagnostic(Code.MISSING_CHARACTERS, offset, 0, -1, null, null, null, length);
+    }
+
+    public Code code() {
+        return code;
+    }
+
+    public long offset() {
+        return offset;
+    }
+
+    public int line() {
+        return line;
+    }
+
+    public int actual() {
+        return actual;
+    }
+
+    public TokenType found() {
+        return found;
+    }
+
+    public List<TokenType> expected() {
+        return expected == null ? List.of() : List.of(expected);
+    }
+
+    public String message() {
+        if (code == Code.MESSAGE) return source;
+
+        if (source != null) {
+            return """
+                    %s char '%c' at line %d:
+                    %s
+                    %s^--- here
+                    """.formatted(code.text, (char) actual, line, source, " ".repeat((int) offset));
+        }
+
+        if (expected != null) {
+            return """
+                    %s
+                    %s
+                    Expected tokens: %s,
+                    Actual: %s
+                    """.formatted(code.text, line > 0 ? "Line " + line + ", position: " + offset : "Offset: " + offset,
+                    Arrays.toString(expected), found == null ? "end of input" : found);
+        }
+
+        if (length >= 0) return "%s of length %d at offset %d".formatted(code.text, length, offset);
+
+        String c = actual == -1 ? "end of input"
+                : actual >= ' ' && actual < ASCII_BARRIER ? "'" + (char) actual + "'" : "0x%02x".formatted(actual);
+        return "%s %s at offset %d".formatted(code.text, c, offset);
+    }
+
+    @Override
+    public String toString() {
+        return message();
+    }
+}
@@ -0,0 +1,78 @@
+package error;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+
+public class Diagnostics implements ErrorReporter {
+    private final Diagnostic[] diagnostics;
+    private int count;
+
+    private Diagnostics(int limit) {
+        if (limit < 1) throw new IllegalArgumentException("Limit must be positive: " + limit);
+        this.diagnostics = new Diagnostic[limit];
+    }
+
+    public static Diagnostics of(int limit) {
+        return new Diagnostics(limit);
+    }
+
+    public static Diagnostics failFast() {
+        return new Diagnostics(1);
+    }
+
+    @Override
+    public boolean report(String message) {
+        return report(Diagnostic.of(message));
+    }
+
+    @Override
+    public boolean report(Diagnostic diagnostic) {
+        if (count < diagnostics.length) diagnostics[count] = diagnostic;
+        count++;
+        return count < diagnostics.length;
+    }
+
+    @Override
+    public boolean hasErrors() {
+        return count > 0;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public Diagnostic first() {
+        return count > 0 ? diagnostics[0] : null;
+    }
+
+    public List<Diagnostic> diagnostics() {
+        return List.of(Arrays.copyOf(diagnostics, Math.min(count, diagnostics.length)));
+    }
+
+    public void clear() {
+        Arrays.fill(diagnostics, 0, Math.min(count, diagnostics.length), null);
+        count = 0;
+    }
+
+    public void render(Appendable out) {
+        try {
+            for (int i = 0; i < Math.min(count, diagnostics.length); i++) {
+                out.append(diagnostics[i].message());
+                out.append('\n');
+            }
+            if (count > diagnostics.length) out.append("... and ").append(String.valueOf(count - diagnostics.length))
+                    .append(" more\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        render(out);
+        return out.toString();
+    }
+}
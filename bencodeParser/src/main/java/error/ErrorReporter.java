@@ -1,12 +1,12 @@
 package error;
 
-import lexer.Token;
-
-import java.util.List;
-
 public interface ErrorReporter {
 
     boolean report(String message);
 
+    default boolean report(Diagnostic diagnostic) {
+        return report(diagnostic.message());
+    }
+
     boolean hasErrors();
-}
\ No newline at end of file
+}
@@ -1,22 +1,33 @@
 package error;
 
-import lexer.Token;
-
-import java.util.List;
+import java.util.function.Consumer;
 
 public class Reporter implements ErrorReporter {
 
     private final int maxMessages;
+    private final Consumer<String> sink;
     private int nMessages;
 
     public Reporter(int maxMessages) {
+        this(maxMessages, System.err::println);
+    }
+
+    public Reporter(int maxMessages, Consumer<String> sink) {
         this.maxMessages = maxMessages;
+        this.sink = sink;
     }
 
     @Override
     public boolean report(String message) {
+        if (nMessages < maxMessages) sink.accept(message);
+        nMessages++;
+        return nMessages < maxMessages;
+    }
+
+    @Override
+    public boolean report(Diagnostic diagnostic) {
+        if (nMessages < maxMessages) sink.accept(diagnostic.message());
         nMessages++;
-        System.err.println(message);
         return nMessages < maxMessages;
     }
 
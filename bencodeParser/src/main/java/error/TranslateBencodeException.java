@@ -1,7 +1,28 @@
 package error;
 
+import java.io.Serial;
+
 public class TranslateBencodeException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final Diagnostic diagnostic;
+
     public TranslateBencodeException(String message) {
-        super(message);
+        this(Diagnostic.of(message));
+    }
+
+    public TranslateBencodeException(Diagnostic diagnostic) {
+        super(null, null, false, false);
+        this.diagnostic = diagnostic;
+    }
+
+    public Diagnostic diagnostic() {
+        return diagnostic;
+    }
+
+    @Override
+    public String getMessage() {
+        return diagnostic.message();
     }
-}
\ No newline at end of file
+}
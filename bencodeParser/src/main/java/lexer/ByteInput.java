@@ -0,0 +1,182 @@
+package lexer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+public class ByteInput {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final InputStream stream;
+    private final ReadableByteChannel channel;
+    private ByteBuffer buffer;
+
+    private long base;
+    private MessageDigest[] digests;
+    private int digestMark;
+
+    private ByteInput(InputStream stream, ReadableByteChannel channel, ByteBuffer buffer) {
+        this.stream = stream;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    public static ByteInput of(InputStream stream) {
+        return new ByteInput(stream, null, ByteBuffer.allocate(BUFFER_SIZE).flip());
+    }
+
+    public static ByteInput of(ReadableByteChannel channel) {
+        return new ByteInput(null, channel, ByteBuffer.allocate(BUFFER_SIZE).flip());
+    }
+
+    public static ByteInput of(ByteBuffer buffer) {
+        return new ByteInput(null, null, buffer.slice());
+    }
+
+    public static ByteInput of(ByteBuffer buffer, long offset) {
+        ByteInput input = of(buffer);
+        input.base = offset;
+        return input;
+    }
+
+    public static ByteInput map(Path path) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            return of(file.map(FileChannel.MapMode.READ_ONLY, 0, file.size()));
+        }
+    }
+
+    public ByteInput reset(ByteBuffer buffer) {
+        if (stream != null || channel != null) throw new IllegalStateException("Only buffer input can be reset");
+
+        this.buffer = buffer.slice();
+        base = 0;
+        digests = null;
+        return this;
+    }
+
+    public ByteBuffer backingBuffer() {
+        return stream == null && channel == null ? buffer : null;
+    }
+
+    public long offset() {
+        return base + buffer.position();
+    }
+
+    public int peek() {
+        if (!buffer.hasRemaining() && !fill()) return -1;
+        return buffer.get(buffer.position()) & 0xFF;
+    }
+
+    public int read() {
+        if (!buffer.hasRemaining() && !fill()) return -1;
+        return buffer.get() & 0xFF;
+    }
+
+    public byte[] readBytes(int length) {
+        byte[] bytes = new byte[Math.min(length, BUFFER_SIZE)];
+        int copied = 0;
+
+        while (copied < length) {
+            if (copied == bytes.length) bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * bytes.length));
+
+            int n = read(bytes, copied, bytes.length - copied);
+            if (n < 0) return null;
+            copied += n;
+        }
+        return bytes;
+    }
+
+    public boolean readBytes(byte[] bytes, int offset, int length) {
+        int copied = 0;
+
+        while (copied < length) {
+            int n = read(bytes, offset + copied, length - copied);
+            if (n < 0) return false;
+            copied += n;
+        }
+        return true;
+    }
+
+    public int read(byte[] bytes, int offset, int length) {
+        if (!buffer.hasRemaining() && !fill()) return -1;
+
+        int n = Math.min(length, buffer.remaining());
+        buffer.get(bytes, offset, n);
+        return n;
+    }
+
+    public boolean skipBytes(long length) {
+        while (length > 0) {
+            if (!buffer.hasRemaining() && !fill()) return false;
+
+            int n = (int) Math.min(length, buffer.remaining());
+            buffer.position(buffer.position() + n);
+            length -= n;
+        }
+        return true;
+    }
+
+    public ByteString readString(int length) {
+        if (stream != null || channel != null) {
+            byte[] bytes = readBytes(length);
+            return bytes == null ? null : ByteString.wrap(bytes);
+        }
+
+        if (buffer.remaining() < length) return null;
+
+        ByteString str = ByteString.slice(buffer, buffer.position(), length);
+        buffer.position(buffer.position() + length);
+        return str;
+    }
+
+    public void startDigest(MessageDigest... digests) {
+        this.digests = digests;
+        digestMark = buffer.position();
+    }
+
+    public void stopDigest() {
+        updateDigests();
+        digests = null;
+    }
+
+    private void updateDigests() {
+        int length = buffer.position() - digestMark;
+        for (MessageDigest digest : digests) {
+            if (buffer.hasArray()) {
+                digest.update(buffer.array(), buffer.arrayOffset() + digestMark, length);
+            } else {
+                digest.update(buffer.duplicate().limit(buffer.position()).position(digestMark));
+            }
+        }
+        digestMark = buffer.position();
+    }
+
+    private boolean fill() {
+        if (stream == null && channel == null) return false;
+
+        if (digests != null) updateDigests();
+        base += buffer.position();
+        buffer.clear();
+        digestMark = 0;
+        try {
+            int n = 0;
+            while (n == 0) {
+                n = stream != null
+                        ? stream.read(buffer.array(), 0, buffer.capacity())
+                        : channel.read(buffer);
+            }
+            if (stream != null && n > 0) buffer.position(n);
+            buffer.flip();
+            return n > 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package lexer;
+
+import error.Diagnostic;
+import error.Diagnostic.Code;
+import error.ErrorReporter;
+import error.TranslateBencodeException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ByteLexer {
+    private static final ThreadLocal<ByteLexer> LOCAL = ThreadLocal.withInitial(ByteLexer::of);
+
+    private final ByteInput input;
+    private final ByteScanner scanner;
+    private final List<Token> tokens = new ArrayList<>();
+    private TokenBuffer columns;
+    private boolean columnar;
+    private ErrorReporter reporter;
+
+    private ByteLexer(ByteInput input, ErrorReporter reporter) {
+        this.input = input;
+        this.scanner = new ByteScanner(input);
+        this.reporter = reporter;
+    }
+
+    public static ByteLexer of() {
+        return new ByteLexer(ByteInput.of(ByteBuffer.allocate(0)), null);
+    }
+
+    public static ByteLexer local() {
+        return LOCAL.get();
+    }
+
+    public ByteLexer reset(ByteBuffer buffer, ErrorReporter reporter) {
+        input.reset(buffer);
+        this.reporter = reporter;
+        tokens.clear();
+        return this;
+    }
+
+    public static List<Token> scan(InputStream in, ErrorReporter reporter) {
+        return scan(ByteInput.of(in), reporter);
+    }
+
+    public static List<Token> scan(ReadableByteChannel channel, ErrorReporter reporter) {
+        return scan(ByteInput.of(channel), reporter);
+    }
+
+    public static List<Token> scan(ByteBuffer buffer, ErrorReporter reporter) {
+        return scan(ByteInput.of(buffer), reporter);
+    }
+
+    public static List<Token> scan(Path path, ErrorReporter reporter) throws IOException {
+        return scan(ByteInput.map(path), reporter);
+    }
+
+    public static List<Token> scan(ByteInput input, ErrorReporter reporter) {
+        ByteLexer lexer = new ByteLexer(input, reporter);
+        return lexer.scan();
+    }
+
+    public static TokenBuffer tokenize(ByteInput input, ErrorReporter reporter) {
+        ByteLexer lexer = new ByteLexer(input, reporter);
+        return lexer.tokenize();
+    }
+
+    public List<Token> scan() {
+        columnar = false;
+        return run() && tokens.size() > 0 ? tokens : null;
+    }
+
+    public TokenBuffer tokenize() {
+        if (columns == null) columns = TokenBuffer.of();
+        columns.clear();
+        columnar = true;
+        return run() && columns.size() > 0 ? columns : null;
+    }
+
+    private boolean run() {
+        int c;
+        while ((c = scanner.peek()) != -1) {
+            try {
+                if (!valueType(c)) return false;
+            } catch (TranslateBencodeException e) {
+                reporter.report(e.diagnostic());
+                return false;
+            }
+        }
+        return !reporter.hasErrors();
+    }
+
+    private boolean valueType(int c) throws TranslateBencodeException {
+        long start = scanner.offset();
+
+        if (ByteScanner.isDigit(c)) {
+            if (columnar) addString(start);
+            else tokens.add(new Token(TokenType.STRING, 0, start, scanner.readString()));
+            return true;
+        }
+
+        switch (c) {
+            case 'i' -> {
+                long number = scanner.readInteger();
+                if (columnar) columns.addInteger(start, number, scanner.overflow());
+                else tokens.add(new Token(TokenType.INTEGER, 0, start, scanner.overflow(), number));
+            }
+            case 'l' -> addComplexType(TokenType.LIST);
+            case 'd' -> addComplexType(TokenType.DICTIONARY);
+            case 'e' -> addComplexType(TokenType.TYPE_END);
+            default -> {
+                if (!reporter.report(Diagnostic.at(Code.UNKNOWN, start, c))) return false;
+                scanner.skip();
+            }
+        }
+        return true;
+    }
+
+    private void addString(long start) throws TranslateBencodeException {
+        int length = scanner.readLength();
+        ByteBuffer source = input.backingBuffer();
+
+        boolean complete;
+        if (source != null) {
+            int position = source.position();
+            complete = input.skipBytes(length);
+            if (complete) columns.addString(start, source, position, length);
+        } else {
+            complete = columns.addString(start, input, length);
+        }
+
+        if (!complete)
+            throw new TranslateBencodeException(Diagnostic.missing(start, length));
+    }
+
+    private void addComplexType(TokenType type) {
+        if (columnar) columns.add(type, scanner.offset());
+        else tokens.add(new Token(type, 0, scanner.offset(), null));
+        scanner.skip();
+    }
+}
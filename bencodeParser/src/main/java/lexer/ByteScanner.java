@@ -0,0 +1,118 @@
+package lexer;
+
+import error.Diagnostic;
+import error.Diagnostic.Code;
+import error.TranslateBencodeException;
+
+import java.math.BigInteger;
+
+public class ByteScanner {
+    private final ByteInput input;
+    private BigInteger overflow;
+
+    public ByteScanner(ByteInput input) {
+        this.input = input;
+    }
+
+    public long offset() {
+        return input.offset();
+    }
+
+    public int peek() {
+        int c;
+        while (isWhitespace(c = input.peek())) input.read();
+        return c;
+    }
+
+    public void skip() {
+        input.read();
+    }
+
+    public ByteString readString() throws TranslateBencodeException {
+        long start = input.offset();
+        int size = readLength();
+        ByteString str = input.readString(size);
+
+        if (str == null)
+            throw new TranslateBencodeException(Diagnostic.missing(start, size));
+        return str;
+    }
+
+    public void skipString() throws TranslateBencodeException {
+        long start = input.offset();
+        int size = readLength();
+
+        if (!input.skipBytes(size))
+            throw new TranslateBencodeException(Diagnostic.missing(start, size));
+    }
+
+    public long readInteger() throws TranslateBencodeException {
+        input.read();
+        overflow = null;
+
+        boolean negative = input.peek() == '-';
+        if (negative) input.read();
+
+        long number = 0;
+        int digits = 0;
+        StringBuilder big = null;
+        int c;
+
+        while ((c = input.peek()) != 'e') {
+            if (c == -1) throw new TranslateBencodeException(Diagnostic.at(Code.EXPECTED_END, input.offset(), c));
+            if (!isDigit(c)) throw new TranslateBencodeException(Diagnostic.at(Code.EXPECTED_NUMBER, input.offset(), c));
+
+            int digit = c - '0';
+            if (big != null) big.append((char) c);
+            else if (number < (Long.MIN_VALUE + digit) / 10) big = new StringBuilder(Long.toString(number).substring(1)).append((char) c);
+            else number = number * 10 - digit;
+            digits++;
+            input.read();
+        }
+
+        if (digits == 0)
+            throw new TranslateBencodeException(Diagnostic.at(Code.NO_NUMBER, input.offset(), c));
+
+        input.read();
+        if (big != null) {
+            overflow = new BigInteger(big.toString());
+            if (negative) overflow = overflow.negate();
+            return 0;
+        }
+        if (!negative && number == Long.MIN_VALUE) {
+            overflow = BigInteger.valueOf(number).negate();
+            return 0;
+        }
+        return negative ? number : -number;
+    }
+
+    public BigInteger overflow() {
+        return overflow;
+    }
+
+    public int readLength() throws TranslateBencodeException {
+        long size = 0;
+        int c;
+
+        while ((c = input.peek()) != ':') {
+            if (c == -1) throw new TranslateBencodeException(Diagnostic.at(Code.EXPECTED_COLON, input.offset(), c));
+            if (!isDigit(c)) throw new TranslateBencodeException(Diagnostic.at(Code.EXPECTED_NUMBER, input.offset(), c));
+
+            size = size * 10 + (c - '0');
+            if (size > Integer.MAX_VALUE)
+                throw new TranslateBencodeException(Diagnostic.at(Code.TOO_LONG_STRING, input.offset(), c));
+            input.read();
+        }
+
+        input.read();
+        return (int) size;
+    }
+
+    public static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f' || c == 0x0B;
+    }
+}
@@ -0,0 +1,112 @@
+package lexer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public final class ByteString implements Comparable<ByteString> {
+    private final ByteBuffer bytes;
+    private String text;
+    private byte utf8;
+
+    private ByteString(ByteBuffer bytes) {
+        this.bytes = bytes;
+    }
+
+    public static ByteString wrap(byte[] bytes) {
+        return new ByteString(ByteBuffer.wrap(bytes));
+    }
+
+    public static ByteString slice(ByteBuffer buffer, int offset, int length) {
+        return new ByteString(buffer.slice(offset, length));
+    }
+
+    public static ByteString of(String text) {
+        ByteString str = wrap(text.getBytes(StandardCharsets.UTF_8));
+        str.text = text;
+        return str;
+    }
+
+    public int length() {
+        return bytes.limit();
+    }
+
+    public int byteAt(int index) {
+        return bytes.get(index) & 0xFF;
+    }
+
+    public ByteBuffer asBuffer() {
+        return bytes.asReadOnlyBuffer();
+    }
+
+    public byte[] toByteArray() {
+        byte[] array = new byte[length()];
+        bytes.get(0, array);
+        return array;
+    }
+
+    public boolean isUtf8() {
+        if (utf8 == 0) utf8 = (byte) (validUtf8() ? 1 : -1);
+        return utf8 > 0;
+    }
+
+    private boolean validUtf8() {
+        int n = length();
+        int i = 0;
+
+        while (i < n) {
+            int b = byteAt(i);
+            if (b < 0x80) {
+                i++;
+                continue;
+            }
+
+            int extra;
+            if (b >= 0xC2 && b <= 0xDF) extra = 1;
+            else if (b >= 0xE0 && b <= 0xEF) extra = 2;
+            else if (b >= 0xF0 && b <= 0xF4) extra = 3;
+            else return false;
+
+            if (i + extra >= n) return false;
+
+            int codePoint = b & (0x3F >> extra);
+            for (int j = 1; j <= extra; j++) {
+                int c = byteAt(i + j);
+                if ((c & 0xC0) != 0x80) return false;
+                codePoint = codePoint << 6 | c & 0x3F;
+            }
+
+            if (extra == 2 && (codePoint < 0x800 || codePoint >= 0xD800 && codePoint <= 0xDFFF)) return false;
+            if (extra == 3 && (codePoint < 0x10000 || codePoint > 0x10FFFF)) return false;
+            i += extra + 1;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        if (text == null) {
+            text = bytes.hasArray()
+                    ? new String(bytes.array(), bytes.arrayOffset(), length(), StandardCharsets.UTF_8)
+                    : new String(toByteArray(), StandardCharsets.UTF_8);
+        }
+        return text;
+    }
+
+    @Override
+    public int compareTo(ByteString other) {
+        int i = bytes.mismatch(other.bytes);
+        if (i == -1) return 0;
+        if (i == length() || i == other.length()) return length() - other.length();
+        return byteAt(i) - other.byteAt(i);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ByteString other && bytes.equals(other.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return bytes.hashCode();
+    }
+}
@@ -1,34 +1,60 @@
 package lexer;
-import error.Reporter;
+import error.Diagnostic;
+import error.Diagnostic.Code;
+import error.ErrorReporter;
 import error.TranslateBencodeException;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 
 public class Lexer {
-    private final BufferedReader br;
-    private final Reporter reporter;
+    private static final ThreadLocal<Lexer> LOCAL = ThreadLocal.withInitial(Lexer::of);
+
     private final List<Token> tokens = new ArrayList<>();
+    private BufferedReader br;
+    private ErrorReporter reporter;
 
     private String line;
     private int nLine;
     private int position;
+    private long characters;
+    private BigInteger bigNumber;
     private static final int ASCII_BARRIER = 127;
 
-    private Lexer(BufferedReader br, Reporter reporter) {
+    private Lexer(BufferedReader br, ErrorReporter reporter) {
         this.br = br;
         this.reporter = reporter;
     }
 
-    public static List<Token> scan(BufferedReader br, Reporter reporter) {
+    public static List<Token> scan(BufferedReader br, ErrorReporter reporter) {
         Lexer lexer = new Lexer(br, reporter);
         return lexer.scan();
     }
 
-    private List<Token> scan() {
+    public static Lexer of() {
+        return new Lexer(null, null);
+    }
+
+    public static Lexer local() {
+        return LOCAL.get();
+    }
+
+    public Lexer reset(BufferedReader br, ErrorReporter reporter) {
+        this.br = br;
+        this.reporter = reporter;
+        tokens.clear();
+        line = null;
+        nLine = 0;
+        position = 0;
+        characters = 0;
+        return this;
+    }
+
+    public List<Token> scan() {
         while ((line = getLine()) != null) {
             while (position < line.length()) {
                 if (Character.isWhitespace(line.charAt(position))) {
@@ -37,9 +63,9 @@ public class Lexer {
                 }
 
                 try {
-                    valueType();
+                    if (!valueType()) return null;
                 } catch (TranslateBencodeException e) {
-                    reporter.report(e.getMessage());
+                    reporter.report(e.diagnostic());
                     return null;
                 }
             }
@@ -48,10 +74,14 @@ public class Lexer {
         return reporter.hasErrors() || tokens.size() == 0 ? null : tokens;
     }
 
-    private void valueType() throws TranslateBencodeException {
+    public long characters() {
+        return characters;
+    }
+
+    private boolean valueType() throws TranslateBencodeException {
         if (isDigit(line.charAt(position))) {
             addString();
-            return;
+            return true;
         }
 
         switch (line.charAt(position)) {
@@ -60,11 +90,11 @@ public class Lexer {
             case 'd' -> addComplexType(TokenType.DICTIONARY);
             case 'e' -> addComplexType(TokenType.TYPE_END);
             default -> {
-                if (!reporter.report(errorPosition("Unknown")))
-                    throw new TranslateBencodeException("Limit error messages");
+                if (!reporter.report(error(Code.UNKNOWN))) return false;
                 position++;
             }
         }
+        return true;
     }
 
     private void addComplexType(TokenType type) {
@@ -74,58 +104,67 @@ public class Lexer {
 
     private void addNumber() {
         position++;
-        Integer number = getNumber('e');
-        tokens.add(new Token(TokenType.INTEGER, nLine, position, number));
+        long number = getNumber('e');
+        tokens.add(new Token(TokenType.INTEGER, nLine, position, bigNumber, number));
     }
 
     private void addString() {
-        int size = getNumber(':');
-        if (position + size > line.length()) {
+        long size = getNumber(':');
+        if (bigNumber != null || position + size > line.length()) {
             position--;
-            throw new TranslateBencodeException(errorPosition("Missing characters in string\nStart position of string:"));
+            throw new TranslateBencodeException(error(Code.MISSING_CHARACTERS));
         }
 
-        String str = line.substring(position, position + size);
+        String str = line.substring(position, position + (int) size);
         if (str.chars().anyMatch(c -> c >= ASCII_BARRIER))
-            throw new TranslateBencodeException(errorPosition("This string contains non ascii char"));
+            throw new TranslateBencodeException(error(Code.NON_ASCII));
 
         tokens.add(new Token(TokenType.STRING, nLine, position, str));
         position += size;
     }
 
-    private Integer getNumber(char endChar) throws TranslateBencodeException {
+    private long getNumber(char endChar) throws TranslateBencodeException {
         int startPosition = position;
+        bigNumber = null;
+
+        boolean negative = position < line.length() && line.charAt(position) == '-';
+        if (negative) position++;
 
-        if (position < line.length() && line.charAt(position) == '-') position++;
+        long number = 0;
+        boolean overflow = false;
 
         while (position < line.length() && line.charAt(position) != endChar) {
-            if (!isDigit(line.charAt(position))) throw new TranslateBencodeException(errorPosition("Expected number"));
+            if (!isDigit(line.charAt(position))) throw new TranslateBencodeException(error(Code.EXPECTED_NUMBER));
 
+            int digit = line.charAt(position) - '0';
+            if (number < (Long.MIN_VALUE + digit) / 10) overflow = true;
+            else number = number * 10 - digit;
             position++;
         }
 
         if (position >= line.length() || line.charAt(position) != endChar) {
             position--;
-            throw new TranslateBencodeException(errorPosition("Expected '" + endChar + "' after"));
+            throw new TranslateBencodeException(error(endChar == 'e' ? Code.EXPECTED_END : Code.EXPECTED_COLON));
         }
 
-        if (startPosition == position)
-            throw new TranslateBencodeException(errorPosition("No number"));
+        if (startPosition == position || negative && startPosition + 1 == position)
+            throw new TranslateBencodeException(error(Code.NO_NUMBER));
 
-        try {
-            position++;
-            return Integer.parseInt(line.substring(startPosition, position - 1));
-        } catch (NumberFormatException e) {
-            position = startPosition;
-            throw new TranslateBencodeException(errorPosition("Too long number"));
+        position++;
+        if (overflow || !negative && number == Long.MIN_VALUE) {
+            bigNumber = new BigInteger(line.substring(startPosition, position - 1));
+            return 0;
         }
+        return negative ? number : -number;
     }
 
     private String getLine() {
         try {
             nLine++;
             position = 0;
-            return br.readLine();
+            String next = br.readLine();
+            if (next != null) characters += next.length() + 1;
+            return next;
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -135,11 +174,7 @@ public class Lexer {
         return c >= '0' && c <= '9';
     }
 
-    private String errorPosition(String message) {
-        return """
-                %s char '%c' at line %d:
-                %s
-                %s^--- here
-                """.formatted(message, line.charAt(position), nLine, line, " ".repeat(position));
+    private Diagnostic error(Code code) {
+        return Diagnostic.inLine(code, line, nLine, position);
     }
 }
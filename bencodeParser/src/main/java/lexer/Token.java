@@ -1,3 +1,8 @@
 package lexer;
 
-public record Token(TokenType tokenType, int nLine, int pos, Object value) {}
+public record Token(TokenType tokenType, int nLine, long pos, Object value, long number) {
+
+    public Token(TokenType tokenType, int nLine, long pos, Object value) {
+        this(tokenType, nLine, pos, value, value instanceof Number n ? n.longValue() : 0);
+    }
+}
@@ -0,0 +1,139 @@
+package lexer;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TokenBuffer {
+    private static final TokenType[] TYPES = TokenType.values();
+
+    private byte[] types = new byte[64];
+    private long[] offsets = new long[64];
+    private int[] lengths = new int[64];
+    private long[] values = new long[64];
+    private int size;
+
+    private final List<BigInteger> bigNumbers = new ArrayList<>();
+
+    private ByteBuffer source;
+    private byte[] data = new byte[0];
+    private ByteBuffer dataView = ByteBuffer.wrap(data);
+    private int dataSize;
+    private boolean dataShared;
+
+    private TokenBuffer() {}
+
+    public static TokenBuffer of() {
+        return new TokenBuffer();
+    }
+
+    public void clear() {
+        size = 0;
+        bigNumbers.clear();
+        source = null;
+        dataSize = 0;
+        if (dataShared) {
+            data = new byte[data.length];
+            dataView = ByteBuffer.wrap(data);
+            dataShared = false;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public TokenType type(int index) {
+        return TYPES[types[index]];
+    }
+
+    public long offset(int index) {
+        return offsets[index];
+    }
+
+    public long number(int index) {
+        return values[index];
+    }
+
+    public BigInteger bigNumber(int index) {
+        return type(index) == TokenType.INTEGER && lengths[index] > 0 ? bigNumbers.get(lengths[index] - 1) : null;
+    }
+
+    public ByteString string(int index) {
+        if (source != null) return ByteString.slice(source, (int) values[index], lengths[index]);
+
+        dataShared = true;
+        return ByteString.slice(dataView, (int) values[index], lengths[index]);
+    }
+
+    public String text(int index) {
+        ByteBuffer bytes = source != null ? source : dataView;
+        int position = (int) values[index];
+
+        if (bytes.hasArray())
+            return new String(bytes.array(), bytes.arrayOffset() + position, lengths[index], StandardCharsets.UTF_8);
+        return string(index).toString();
+    }
+
+    public Token token(int index) {
+        return switch (type(index)) {
+            case STRING -> new Token(TokenType.STRING, 0, offsets[index], string(index));
+            case INTEGER -> new Token(TokenType.INTEGER, 0, offsets[index], bigNumber(index), values[index]);
+            default -> new Token(type(index), 0, offsets[index], null);
+        };
+    }
+
+    void add(TokenType type, long offset) {
+        add(type, offset, 0, 0);
+    }
+
+    void addInteger(long offset, long number, BigInteger overflow) {
+        if (overflow == null) {
+            add(TokenType.INTEGER, offset, 0, number);
+            return;
+        }
+        bigNumbers.add(overflow);
+        add(TokenType.INTEGER, offset, bigNumbers.size(), 0);
+    }
+
+    void addString(long offset, ByteBuffer source, int position, int length) {
+        this.source = source;
+        add(TokenType.STRING, offset, length, position);
+    }
+
+    boolean addString(long offset, ByteInput input, int length) {
+        long end = (long) dataSize + length;
+        int position = dataSize;
+
+        while (position < end) {
+            if (position == data.length) {
+                data = Arrays.copyOf(data, (int) Math.min(end, Math.max(64, data.length * 2L)));
+                dataView = ByteBuffer.wrap(data);
+            }
+            int n = input.read(data, position, (int) Math.min(end - position, data.length - position));
+            if (n < 0) return false;
+            position += n;
+        }
+
+        add(TokenType.STRING, offset, length, dataSize);
+        dataSize += length;
+        return true;
+    }
+
+    private void add(TokenType type, long offset, int length, long value) {
+        if (size == types.length) {
+            types = Arrays.copyOf(types, size * 2);
+            offsets = Arrays.copyOf(offsets, size * 2);
+            lengths = Arrays.copyOf(lengths, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        types[size] = (byte) type.ordinal();
+        offsets[size] = offset;
+        lengths[size] = length;
+        values[size] = value;
+        size++;
+    }
+}
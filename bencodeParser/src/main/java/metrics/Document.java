@@ -0,0 +1,61 @@
+package metrics;
+
+public final class Document {
+    private final Metrics metrics;
+    private final String mode;
+    private final DocumentEvent event = new DocumentEvent();
+    private final long start;
+    private long mark;
+    private long bytes;
+
+    Document(Metrics metrics, String mode, long bytes) {
+        this.metrics = metrics;
+        this.mode = mode;
+        this.bytes = bytes;
+        event.begin();
+        start = mark = System.nanoTime();
+    }
+
+    public Document bytes(long bytes) {
+        this.bytes = bytes;
+        return this;
+    }
+
+    public void stage(Stage stage, long items) {
+        stage(stage, items, true);
+    }
+
+    public void stage(Stage stage, long items, boolean success) {
+        long now = System.nanoTime();
+        long nanos = now - mark;
+        mark = now;
+        metrics.stage(stage, nanos, bytes, items, success);
+
+        switch (stage) {
+            case LEX -> {
+                event.lexTime = nanos;
+                event.tokens = items;
+            }
+            case PARSE -> {
+                event.parseTime = nanos;
+                event.nodes = items;
+            }
+            case PRINT -> event.printTime = nanos;
+            case TRANSCODE -> event.transcodeTime = nanos;
+            case QUERY -> event.queryTime = nanos;
+        }
+    }
+
+    public boolean end(boolean success) {
+        metrics.document(mode, System.nanoTime() - start, bytes, success);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.mode = mode;
+            event.bytes = bytes;
+            event.success = success;
+            event.commit();
+        }
+        return success;
+    }
+}
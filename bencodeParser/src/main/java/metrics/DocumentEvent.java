@@ -0,0 +1,46 @@
+package metrics;
+
+import jdk.jfr.*;
+
+@Name("bencode.Document")
+@Label("Bencode Document")
+@Category("Bencode")
+@Description("One document converted by the lexer, parser and printer stages")
+@StackTrace(false)
+class DocumentEvent extends Event {
+    @Label("Mode")
+    String mode;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Tokens")
+    long tokens;
+
+    @Label("Nodes")
+    long nodes;
+
+    @Label("Success")
+    boolean success;
+
+    @Label("Lex Time")
+    @Timespan
+    long lexTime;
+
+    @Label("Parse Time")
+    @Timespan
+    long parseTime;
+
+    @Label("Print Time")
+    @Timespan
+    long printTime;
+
+    @Label("Transcode Time")
+    @Timespan
+    long transcodeTime;
+
+    @Label("Query Time")
+    @Timespan
+    long queryTime;
+}
@@ -0,0 +1,85 @@
+package metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class Metrics {
+    private static final Metrics GLOBAL = new Metrics();
+
+    private final StageMetrics[] stages = new StageMetrics[Stage.values().length];
+    private final LongAdder documents = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final CopyOnWriteArrayList<MetricsSink> sinks = new CopyOnWriteArrayList<>();
+
+    private Metrics() {
+        for (Stage stage : Stage.values()) stages[stage.ordinal()] = new StageMetrics(stage);
+    }
+
+    public static Metrics global() {
+        return GLOBAL;
+    }
+
+    public static Metrics of() {
+        return new Metrics();
+    }
+
+    public Document start(String mode, long bytes) {
+        return new Document(this, mode, bytes);
+    }
+
+    public StageMetrics stage(Stage stage) {
+        return stages[stage.ordinal()];
+    }
+
+    public long documents() {
+        return documents.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+
+    public void addSink(MetricsSink sink) {
+        sinks.add(sink);
+    }
+
+    public void removeSink(MetricsSink sink) {
+        sinks.remove(sink);
+    }
+
+    public void register(String domain) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (StageMetrics stage : stages) {
+                ObjectName name = new ObjectName(domain + ":type=Stage,name=" + stage.stage().name().toLowerCase());
+                if (!server.isRegistered(name)) server.registerMBean(stage, name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register metrics in " + domain, e);
+        }
+    }
+
+    void stage(Stage stage, long nanos, long bytes, long items, boolean success) {
+        stages[stage.ordinal()].record(nanos, bytes, items, success);
+        for (MetricsSink sink : sinks) sink.stage(stage, nanos, bytes, items, success);
+    }
+
+    void document(String mode, long nanos, long bytes, boolean success) {
+        documents.increment();
+        if (!success) failed.increment();
+        for (MetricsSink sink : sinks) sink.document(mode, nanos, bytes, success);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder str = new StringBuilder("documents: %d, failed: %d".formatted(documents(), failed()));
+        for (StageMetrics stage : stages) {
+            if (stage.getCount() > 0) str.append('\n').append(stage);
+        }
+        return str.toString();
+    }
+}
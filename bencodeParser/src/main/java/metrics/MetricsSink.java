@@ -0,0 +1,9 @@
+package metrics;
+
+@FunctionalInterface
+public interface MetricsSink {
+
+    void stage(Stage stage, long nanos, long bytes, long items, boolean success);
+
+    default void document(String mode, long nanos, long bytes, boolean success) {}
+}
@@ -0,0 +1,9 @@
+package metrics;
+
+public enum Stage {
+    LEX,
+    PARSE,
+    PRINT,
+    TRANSCODE,
+    QUERY
+}
@@ -0,0 +1,90 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public final class StageMetrics implements StageMetricsMXBean {
+    private final Stage stage;
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder items = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    StageMetrics(Stage stage) {
+        this.stage = stage;
+    }
+
+    void record(long nanos, long bytes, long items, boolean success) {
+        if (!success) errors.increment();
+        this.bytes.add(bytes);
+        this.items.add(items);
+        this.nanos.add(nanos);
+        latency.record(nanos);
+    }
+
+    public Stage stage() {
+        return stage;
+    }
+
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    @Override
+    public long getCount() {
+        return latency.count();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    @Override
+    public long getItems() {
+        return items.sum();
+    }
+
+    @Override
+    public double getBytesPerSecond() {
+        long total = nanos.sum();
+        return total == 0 ? 0 : bytes.sum() * 1e9 / total;
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return latency.mean() / 1e3;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return latency.percentile(50) / 1e3;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return latency.percentile(99) / 1e3;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return latency.percentile(99.9) / 1e3;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return latency.max() / 1e3;
+    }
+
+    @Override
+    public String toString() {
+        return "%s: %d calls, %d errors, %d bytes, %d items, %.1f MB/s, mean %.1f us, p50 %.1f us, p99 %.1f us, max %.1f us"
+                .formatted(stage.name().toLowerCase(), getCount(), getErrors(), getBytes(), getItems(),
+                        getBytesPerSecond() / 1e6, getMeanMicros(), getP50Micros(), getP99Micros(), getMaxMicros());
+    }
+}
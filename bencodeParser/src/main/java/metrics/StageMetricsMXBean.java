@@ -0,0 +1,24 @@
+package metrics;
+
+public interface StageMetricsMXBean {
+
+    long getCount();
+
+    long getErrors();
+
+    long getBytes();
+
+    long getItems();
+
+    double getBytesPerSecond();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    double getMaxMicros();
+}
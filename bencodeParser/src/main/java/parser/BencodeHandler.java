@@ -0,0 +1,26 @@
+package parser;
+
+import lexer.ByteString;
+
+import java.math.BigInteger;
+
+public interface BencodeHandler {
+
+    default boolean startDict() {
+        return true;
+    }
+
+    default boolean startList() {
+        return true;
+    }
+
+    default void key(ByteString key) {}
+
+    default void integer(long value) {}
+
+    default void bigInteger(BigInteger value) {}
+
+    default void bytes(ByteString value) {}
+
+    default void end() {}
+}
@@ -0,0 +1,309 @@
+package parser;
+
+import error.Diagnostic;
+import error.Diagnostic.Code;
+import error.ErrorReporter;
+import error.TranslateBencodeException;
+import lexer.ByteInput;
+import lexer.ByteScanner;
+import lexer.ByteString;
+import lexer.TokenType;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+public class BencodeReader {
+    private static final ThreadLocal<BencodeReader> LOCAL =
+            ThreadLocal.withInitial(() -> of(ByteInput.of(ByteBuffer.allocate(0))));
+
+    private final ByteInput input;
+    private final ByteScanner scanner;
+
+    private boolean[] dictionaries = new boolean[16];
+    private boolean[] keyExpected = new boolean[16];
+    private ByteString[] previousKeys = new ByteString[16];
+    private int depth;
+
+    private BencodeReader(ByteInput input) {
+        this.input = input;
+        this.scanner = new ByteScanner(input);
+    }
+
+    public static BencodeReader of(ByteInput input) {
+        return new BencodeReader(input);
+    }
+
+    public static BencodeReader local() {
+        return LOCAL.get();
+    }
+
+    public BencodeReader reset(ByteBuffer buffer) {
+        input.reset(buffer);
+        Arrays.fill(previousKeys, 0, depth + 1, null);
+        depth = 0;
+        return this;
+    }
+
+    public List<Expr> readAll(ErrorReporter reporter) {
+        List<Expr> expressions = new ArrayList<>();
+        try {
+            while (peek() != null) expressions.add(readValue());
+        } catch (TranslateBencodeException e) {
+            reporter.report(e.diagnostic());
+            return null;
+        }
+        return expressions.isEmpty() ? null : expressions;
+    }
+
+    public static List<Expr> parse(ByteInput input, ErrorReporter reporter) {
+        return new BencodeReader(input).readAll(reporter);
+    }
+
+    public static boolean parse(ByteInput input, BencodeHandler handler, ErrorReporter reporter) {
+        BencodeReader reader = new BencodeReader(input);
+
+        try {
+            TokenType type;
+            if (reader.peek() == null) return false;
+
+            while ((type = reader.peek()) != null) {
+                switch (type) {
+                    case DICTIONARY -> {
+                        if (handler.startDict()) reader.nextEvent();
+                        else reader.skipValue();
+                    }
+                    case LIST -> {
+                        if (handler.startList()) reader.nextEvent();
+                        else reader.skipValue();
+                    }
+                    case TYPE_END -> {
+                        reader.nextEvent();
+                        handler.end();
+                    }
+                    case STRING -> {
+                        if (reader.isKeyExpected()) handler.key(reader.readKey());
+                        else handler.bytes(reader.readBytes());
+                    }
+                    case INTEGER -> {
+                        long number = reader.readNumber();
+                        if (reader.overflow() != null) handler.bigInteger(reader.overflow());
+                        else handler.integer(number);
+                    }
+                }
+            }
+        } catch (TranslateBencodeException e) {
+            reporter.report(e.diagnostic());
+            return false;
+        }
+        return true;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public boolean isKeyExpected() {
+        return depth > 0 && dictionaries[depth] && keyExpected[depth];
+    }
+
+    public long offset() {
+        return scanner.offset();
+    }
+
+    public TokenType peek() throws TranslateBencodeException {
+        int c = scanner.peek();
+        TokenType type = switch (c) {
+            case 'i' -> TokenType.INTEGER;
+            case 'l' -> TokenType.LIST;
+            case 'd' -> TokenType.DICTIONARY;
+            case 'e' -> TokenType.TYPE_END;
+            case -1 -> null;
+            default -> {
+                if (ByteScanner.isDigit(c)) yield TokenType.STRING;
+                throw new TranslateBencodeException(Diagnostic.at(Code.UNKNOWN, scanner.offset(), c));
+            }
+        };
+
+        if (type == null && depth > 0)
+            throw new TranslateBencodeException(unexpected(Code.NO_END, null, TokenType.TYPE_END));
+
+        if (type == TokenType.TYPE_END && depth == 0)
+            throw new TranslateBencodeException(unexpected(Code.EXPECTED_VALUE, type,
+                    TokenType.INTEGER, TokenType.STRING, TokenType.LIST, TokenType.DICTIONARY));
+
+        if (depth > 0 && dictionaries[depth]) {
+            if (keyExpected[depth] && type != TokenType.STRING && type != TokenType.TYPE_END)
+                throw new TranslateBencodeException(unexpected(Code.INVALID_KEY, type, TokenType.STRING));
+
+            if (!keyExpected[depth] && type == TokenType.TYPE_END)
+                throw new TranslateBencodeException(unexpected(Code.EXPECTED_VALUE, type,
+                        TokenType.INTEGER, TokenType.STRING, TokenType.LIST, TokenType.DICTIONARY));
+        }
+        return type;
+    }
+
+    public TokenType nextEvent() throws TranslateBencodeException {
+        TokenType type = peek();
+
+        if (type == TokenType.LIST || type == TokenType.DICTIONARY) {
+            beforeValue();
+            scanner.skip();
+            push(type == TokenType.DICTIONARY);
+        } else if (type == TokenType.TYPE_END) {
+            scanner.skip();
+            depth--;
+        }
+        return type;
+    }
+
+    public ByteString readKey() throws TranslateBencodeException {
+        if (!isKeyExpected())
+            throw new TranslateBencodeException(unexpected(Code.KEY_OUTSIDE_DICTIONARY, peek(), TokenType.STRING));
+
+        expect(TokenType.STRING);
+        ByteString key = scanner.readString();
+
+        if (previousKeys[depth] != null && previousKeys[depth].compareTo(key) >= 0)
+            throw new TranslateBencodeException(unexpected(Code.WRONG_KEY_ORDER, TokenType.STRING, TokenType.STRING));
+
+        previousKeys[depth] = key;
+        keyExpected[depth] = false;
+        return key;
+    }
+
+    public long readLong() throws TranslateBencodeException {
+        long number = readNumber();
+        if (scanner.overflow() != null)
+            throw new TranslateBencodeException(unexpected(Code.TOO_LONG_NUMBER, TokenType.INTEGER, TokenType.INTEGER));
+        return number;
+    }
+
+    public long readNumber() throws TranslateBencodeException {
+        expect(TokenType.INTEGER);
+        beforeValue();
+        return scanner.readInteger();
+    }
+
+    public BigInteger overflow() {
+        return scanner.overflow();
+    }
+
+    public BigInteger readBigInteger() throws TranslateBencodeException {
+        long number = readNumber();
+        return scanner.overflow() != null ? scanner.overflow() : BigInteger.valueOf(number);
+    }
+
+    public ByteString readBytes() throws TranslateBencodeException {
+        expect(TokenType.STRING);
+        beforeValue();
+        return scanner.readString();
+    }
+
+    public void skipValue() throws TranslateBencodeException {
+        TokenType type = peek();
+        if (type == null || type == TokenType.TYPE_END)
+            throw new TranslateBencodeException(unexpected(Code.EXPECTED_VALUE, type,
+                    TokenType.INTEGER, TokenType.STRING, TokenType.LIST, TokenType.DICTIONARY));
+
+        int start = depth;
+        do {
+            if (depth > start && isKeyExpected() && type == TokenType.STRING) {
+                readKey();
+            } else if (type == TokenType.STRING) {
+                beforeValue();
+                scanner.skipString();
+            } else if (type == TokenType.INTEGER) {
+                readNumber();
+            } else {
+                nextEvent();
+            }
+        } while (depth > start && (type = peek()) != null);
+    }
+
+    public Expr readValue() throws TranslateBencodeException {
+        List<Expr> open = null;
+        List<ByteString> keys = null;
+
+        while (true) {
+            TokenType type = nextEvent();
+            if (type == null)
+                throw new TranslateBencodeException(unexpected(Code.EXPECTED_VALUE, null,
+                        TokenType.INTEGER, TokenType.STRING, TokenType.LIST, TokenType.DICTIONARY));
+
+            Expr value = switch (type) {
+                case STRING -> new Expr.Line(readBytes());
+                case INTEGER -> {
+                    long number = readNumber();
+                    yield scanner.overflow() != null ? new Expr.BigNumber(scanner.overflow()) : new Expr.Number(number);
+                }
+                case LIST -> {
+                    if (open == null) {
+                        open = new ArrayList<>();
+                        keys = new ArrayList<>();
+                    }
+                    open.add(new Expr.Array(new ArrayList<>()));
+                    keys.add(null);
+                    yield null;
+                }
+                case DICTIONARY -> {
+                    if (open == null) {
+                        open = new ArrayList<>();
+                        keys = new ArrayList<>();
+                    }
+                    open.add(new Expr.Dictionary(new LinkedHashMap<>()));
+                    keys.add(null);
+                    yield null;
+                }
+                case TYPE_END -> throw new IllegalStateException();
+            };
+
+            while (true) {
+                int top = open == null ? -1 : open.size() - 1;
+                if (value != null) {
+                    if (top < 0) return value;
+                    switch (open.get(top)) {
+                        case Expr.Array array -> array.value().add(value);
+                        case Expr.Dictionary dictionary -> dictionary.value().put(keys.get(top), value);
+                        default -> throw new IllegalStateException();
+                    }
+                }
+
+                if (peek() == TokenType.TYPE_END) {
+                    nextEvent();
+                    keys.remove(top);
+                    value = open.remove(top);
+                    continue;
+                }
+                if (open.get(top) instanceof Expr.Dictionary) keys.set(top, readKey());
+                break;
+            }
+        }
+    }
+
+    private void expect(TokenType expected) throws TranslateBencodeException {
+        TokenType type = peek();
+        if (type != expected)
+            throw new TranslateBencodeException(unexpected(Code.UNEXPECTED_VALUE, type, expected));
+    }
+
+    private void beforeValue() {
+        if (depth > 0 && dictionaries[depth]) keyExpected[depth] = true;
+    }
+
+    private void push(boolean dictionary) {
+        depth++;
+        if (depth == dictionaries.length) {
+            dictionaries = Arrays.copyOf(dictionaries, depth * 2);
+            keyExpected = Arrays.copyOf(keyExpected, depth * 2);
+            previousKeys = Arrays.copyOf(previousKeys, depth * 2);
+        }
+        dictionaries[depth] = dictionary;
+        keyExpected[depth] = dictionary;
+        previousKeys[depth] = null;
+    }
+
+    private Diagnostic unexpected(Code code, TokenType actual, TokenType... expected) {
+        return Diagnostic.unexpected(code, 0, scanner.offset(), actual, expected);
+    }
+}
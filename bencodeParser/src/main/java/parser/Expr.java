@@ -1,15 +1,24 @@
 package parser;
 
+import lexer.ByteString;
+
+import java.math.BigInteger;
 import java.util.List;
 import java.util.Map;
 
 public sealed interface Expr {
 
-    record Line(String value) implements Expr {}
+    record Line(ByteString value) implements Expr {}
+
+    record Number(long value) implements Expr {}
 
-    record Number(Integer value) implements Expr {}
+    record BigNumber(BigInteger value) implements Expr {}
 
     record Array(List<Expr> value) implements Expr {}
 
-    record Dictionary(Map<String, Expr> value) implements Expr {}
+    record Dictionary(Map<ByteString, Expr> value) implements Expr {
+        public Expr get(String key) {
+            return value.get(ByteString.of(key));
+        }
+    }
 }
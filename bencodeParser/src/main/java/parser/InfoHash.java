@@ -0,0 +1,97 @@
+package parser;
+
+import error.ErrorReporter;
+import error.TranslateBencodeException;
+import lexer.ByteInput;
+import lexer.ByteString;
+import lexer.TokenType;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+public class InfoHash {
+    public static final String SHA1 = "SHA-1";
+    public static final String SHA256 = "SHA-256";
+
+    private static final ByteString INFO = ByteString.of("info");
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final List<Expr> expressions;
+    private final Map<String, byte[]> digests;
+
+    private InfoHash(List<Expr> expressions, Map<String, byte[]> digests) {
+        this.expressions = expressions;
+        this.digests = digests;
+    }
+
+    public static InfoHash parse(ByteInput input, ErrorReporter reporter) {
+        return parse(input, reporter, SHA1, SHA256);
+    }
+
+    public static InfoHash parse(ByteInput input, ErrorReporter reporter, String... algorithms) {
+        MessageDigest[] digests = new MessageDigest[algorithms.length];
+        try {
+            for (int i = 0; i < algorithms.length; i++) digests[i] = MessageDigest.getInstance(algorithms[i]);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+
+        BencodeReader reader = BencodeReader.of(input);
+        List<Expr> expressions = new ArrayList<>();
+        boolean hashed = false;
+
+        try {
+            while (reader.peek() != null) {
+                if (!expressions.isEmpty() || reader.peek() != TokenType.DICTIONARY) {
+                    expressions.add(reader.readValue());
+                    continue;
+                }
+
+                reader.nextEvent();
+                LinkedHashMap<ByteString, Expr> map = new LinkedHashMap<>();
+                while (reader.peek() != TokenType.TYPE_END) {
+                    ByteString key = reader.readKey();
+                    boolean info = key.equals(INFO) && reader.peek() == TokenType.DICTIONARY;
+
+                    if (info) input.startDigest(digests);
+                    map.put(key, reader.readValue());
+                    if (info) {
+                        input.stopDigest();
+                        hashed = true;
+                    }
+                }
+                reader.nextEvent();
+                expressions.add(new Expr.Dictionary(map));
+            }
+        } catch (TranslateBencodeException e) {
+            reporter.report(e.diagnostic());
+            return null;
+        }
+        if (expressions.isEmpty()) return null;
+
+        Map<String, byte[]> result = new LinkedHashMap<>();
+        if (hashed) {
+            for (int i = 0; i < algorithms.length; i++) result.put(algorithms[i], digests[i].digest());
+        }
+        return new InfoHash(expressions, result);
+    }
+
+    public List<Expr> expressions() {
+        return expressions;
+    }
+
+    public byte[] digest(String algorithm) {
+        byte[] digest = digests.get(algorithm);
+        return digest == null ? null : digest.clone();
+    }
+
+    public String hex(String algorithm) {
+        byte[] digest = digests.get(algorithm);
+        if (digest == null) return null;
+
+        StringBuilder hex = new StringBuilder(digest.length * 2);
+        for (byte b : digest) hex.append(HEX[b >> 4 & 0xF]).append(HEX[b & 0xF]);
+        return hex.toString();
+    }
+}
@@ -0,0 +1,124 @@
+package parser;
+
+import error.ErrorReporter;
+import error.TranslateBencodeException;
+import lexer.ByteInput;
+import lexer.ByteString;
+import lexer.TokenType;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+public class LazyDictionary extends AbstractMap<ByteString, Expr> {
+    private final ByteBuffer input;
+    private final ByteString[] keys;
+    private final int[] offsets;
+    private final Expr[] values;
+
+    private LazyDictionary(ByteBuffer input, ByteString[] keys, int[] offsets) {
+        this.input = input;
+        this.keys = keys;
+        this.offsets = offsets;
+        this.values = new Expr[keys.length];
+    }
+
+    public static List<Expr> parse(ByteBuffer buffer, ErrorReporter reporter) {
+        ByteBuffer input = buffer.slice();
+        BencodeReader reader = BencodeReader.of(ByteInput.of(input.duplicate()));
+        List<Expr> expressions = new ArrayList<>();
+
+        try {
+            TokenType type;
+            while ((type = reader.peek()) != null) {
+                if (type == TokenType.DICTIONARY) expressions.add(new Expr.Dictionary(index(input, reader, 0)));
+                else expressions.add(reader.readValue());
+            }
+        } catch (TranslateBencodeException e) {
+            reporter.report(e.diagnostic());
+            return null;
+        }
+        return expressions.isEmpty() ? null : expressions;
+    }
+
+    private static LazyDictionary index(ByteBuffer input, BencodeReader reader, int base) throws TranslateBencodeException {
+        List<ByteString> keys = new ArrayList<>();
+        int[] offsets = new int[8];
+
+        reader.nextEvent();
+        while (reader.peek() != TokenType.TYPE_END) {
+            keys.add(reader.readKey());
+            if (keys.size() > offsets.length) offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            offsets[keys.size() - 1] = base + (int) reader.offset();
+            reader.skipValue();
+        }
+        reader.nextEvent();
+
+        return new LazyDictionary(input, keys.toArray(new ByteString[0]), offsets);
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof ByteString str && indexOf(str) >= 0;
+    }
+
+    @Override
+    public Expr get(Object key) {
+        if (!(key instanceof ByteString str)) return null;
+
+        int i = indexOf(str);
+        return i < 0 ? null : value(i);
+    }
+
+    @Override
+    public Set<Entry<ByteString, Expr>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<ByteString, Expr>> iterator() {
+                return new Iterator<>() {
+                    private int i;
+
+                    @Override
+                    public boolean hasNext() {
+                        return i < keys.length;
+                    }
+
+                    @Override
+                    public Entry<ByteString, Expr> next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        Entry<ByteString, Expr> entry = new SimpleImmutableEntry<>(keys[i], value(i));
+                        i++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+
+    private int indexOf(ByteString key) {
+        return Arrays.binarySearch(keys, key);
+    }
+
+    private Expr value(int i) {
+        if (values[i] == null) {
+            BencodeReader reader = BencodeReader.of(ByteInput.of(input.duplicate().position(offsets[i])));
+            try {
+                values[i] = reader.peek() == TokenType.DICTIONARY
+                        ? new Expr.Dictionary(index(input, reader, offsets[i]))
+                        : reader.readValue();
+            } catch (TranslateBencodeException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return values[i];
+    }
+}
@@ -0,0 +1,236 @@
+package parser;
+
+import error.Diagnostic;
+import error.Diagnostic.Code;
+import error.ErrorReporter;
+import error.TranslateBencodeException;
+import lexer.ByteInput;
+import lexer.ByteScanner;
+import lexer.ByteString;
+import lexer.TokenType;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class ParallelParser {
+    private static final long DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    private final ForkJoinPool pool;
+    private final long chunkSize;
+
+    private interface Source {
+        ByteBuffer slice(long offset, long length) throws IOException;
+    }
+
+    private record Split(TokenType container, long[] starts, int count, long end, ByteString[] keys) {}
+
+    private ParallelParser(ForkJoinPool pool, long chunkSize) {
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    public static ParallelParser of() {
+        return new ParallelParser(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public static ParallelParser of(ForkJoinPool pool, long chunkSize) {
+        return new ParallelParser(pool, chunkSize);
+    }
+
+    public List<Expr> parse(ByteBuffer buffer, ErrorReporter reporter) {
+        ByteBuffer input = buffer.slice();
+        return parse(ByteInput.of(input.duplicate()), (offset, length) -> input.slice((int) offset, (int) length), reporter);
+    }
+
+    public List<Expr> parse(Path path, ErrorReporter reporter) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            return parse(ByteInput.of(file), (offset, length) -> {
+                if (length > Integer.MAX_VALUE)
+                    throw new IOException("Too large element of %d bytes at offset %d".formatted(length, offset));
+                return file.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            }, reporter);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private List<Expr> parse(ByteInput input, Source source, ErrorReporter reporter) {
+        Split split;
+        try {
+            split = scan(input);
+        } catch (TranslateBencodeException e) {
+            reporter.report(e.diagnostic());
+            return null;
+        }
+        if (split == null) return null;
+
+        int[] chunks = chunks(split);
+        Expr[] values = new Expr[split.count()];
+        Diagnostic[] errors = new Diagnostic[chunks.length - 1];
+        pool.invoke(new ChunkTask(split, source, chunks, 0, chunks.length - 1, values, errors));
+
+        for (Diagnostic error : errors) {
+            if (error != null) {
+                reporter.report(error);
+                return null;
+            }
+        }
+
+        if (split.container() == TokenType.LIST)
+            return new ArrayList<>(List.of(new Expr.Array(new ArrayList<>(Arrays.asList(values)))));
+
+        if (split.container() == TokenType.DICTIONARY) {
+            LinkedHashMap<ByteString, Expr> map = new LinkedHashMap<>();
+            for (int i = 0; i < values.length; i++) map.put(split.keys()[i], values[i]);
+            return new ArrayList<>(List.of(new Expr.Dictionary(map)));
+        }
+        return new ArrayList<>(Arrays.asList(values));
+    }
+
+    private static Split scan(ByteInput input) throws TranslateBencodeException {
+        ByteScanner scanner = new ByteScanner(input);
+        long[] topStarts = new long[4];
+        int topCount = 0;
+        long[] starts = new long[64];
+        int count = 0;
+        ByteString[] keys = new ByteString[64];
+        TokenType container = null;
+        boolean keyExpected = false;
+        long containerEnd = 0;
+        int depth = 0;
+
+        int c;
+        while ((c = scanner.peek()) != -1) {
+            long offset = scanner.offset();
+            boolean inner = depth == 1 && topCount == 1;
+
+            if (depth == 0) {
+                if (c == 'e') throw new TranslateBencodeException(Diagnostic.at(Code.EXPECTED_VALUE, offset, c));
+                if (topCount == topStarts.length) topStarts = Arrays.copyOf(topStarts, topCount * 2);
+                topStarts[topCount++] = offset;
+            } else if (inner && c != 'e') {
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                    if (container == TokenType.DICTIONARY) keys = Arrays.copyOf(keys, count * 2);
+                }
+
+                if (keyExpected) {
+                    if (!ByteScanner.isDigit(c)) throw new TranslateBencodeException(Diagnostic.at(Code.INVALID_KEY, offset, c));
+                    ByteString key = scanner.readString();
+                    if (count > 0 && keys[count - 1].compareTo(key) >= 0)
+                        throw new TranslateBencodeException(Diagnostic.at(Code.WRONG_KEY_ORDER, offset, c));
+                    keys[count] = key;
+                    keyExpected = false;
+                    continue;
+                }
+
+                starts[count++] = offset;
+                keyExpected = container == TokenType.DICTIONARY;
+            }
+
+            switch (c) {
+                case 'i' -> scanner.readInteger();
+                case 'l', 'd' -> {
+                    scanner.skip();
+                    if (depth == 0 && topCount == 1) {
+                        container = c == 'l' ? TokenType.LIST : TokenType.DICTIONARY;
+                        keyExpected = c == 'd';
+                    }
+                    depth++;
+                }
+                case 'e' -> {
+                    if (inner && container == TokenType.DICTIONARY && !keyExpected)
+                        throw new TranslateBencodeException(Diagnostic.at(Code.EXPECTED_VALUE, offset, c));
+                    if (inner) containerEnd = offset;
+                    scanner.skip();
+                    depth--;
+                }
+                default -> {
+                    if (!ByteScanner.isDigit(c)) throw new TranslateBencodeException(Diagnostic.at(Code.UNKNOWN, offset, c));
+                    scanner.skipString();
+                }
+            }
+        }
+
+        if (depth > 0)
+            throw new TranslateBencodeException(Diagnostic.at(Code.NO_END, scanner.offset(), c));
+        if (topCount == 0) return null;
+
+        if (topCount == 1 && container != null) return new Split(container, starts, count, containerEnd, keys);
+        return new Split(null, topStarts, topCount, scanner.offset(), null);
+    }
+
+    private int[] chunks(Split split) {
+        int[] bounds = new int[16];
+        int n = 0;
+
+        for (int i = 0; i < split.count(); i++) {
+            if (n == 0 || split.starts()[i] - split.starts()[bounds[n - 1]] >= chunkSize) {
+                if (n == bounds.length) bounds = Arrays.copyOf(bounds, n * 2);
+                bounds[n++] = i;
+            }
+        }
+        if (n == bounds.length) bounds = Arrays.copyOf(bounds, n + 1);
+        bounds[n++] = split.count();
+        return Arrays.copyOf(bounds, n);
+    }
+
+    private static class ChunkTask extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final Split split;
+        private final Source source;
+        private final int[] chunks;
+        private final int from;
+        private final int to;
+        private final Expr[] values;
+        private final Diagnostic[] errors;
+
+        private ChunkTask(Split split, Source source, int[] chunks, int from, int to, Expr[] values, Diagnostic[] errors) {
+            this.split = split;
+            this.source = source;
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+            this.values = values;
+            this.errors = errors;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ChunkTask(split, source, chunks, from, middle, values, errors),
+                        new ChunkTask(split, source, chunks, middle, to, values, errors));
+                return;
+            }
+            if (to == from) return;
+
+            int first = chunks[from];
+            int last = chunks[from + 1];
+            long start = split.starts()[first];
+            long end = last < split.count() ? split.starts()[last] : split.end();
+
+            try {
+                BencodeReader reader = BencodeReader.of(ByteInput.of(source.slice(start, end - start), start));
+                for (int i = first; i < last; i++) {
+                    if (i > first && split.container() == TokenType.DICTIONARY) reader.skipValue();
+                    values[i] = reader.readValue();
+                }
+            } catch (TranslateBencodeException e) {
+                errors[from] = e.diagnostic();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -1,135 +1,199 @@
 package parser;
 
-import error.Reporter;
-import error.TranslateBencodeException;
+import error.Diagnostic;
+import error.Diagnostic.Code;
+import error.ErrorReporter;
+import lexer.ByteString;
 import lexer.Token;
+import lexer.TokenBuffer;
 import lexer.TokenType;
 
+import java.math.BigInteger;
 import java.util.*;
 
 public class Parser {
-    private final List<Token> tokens;
-    private final Reporter reporter;
+    private static final ThreadLocal<Parser> LOCAL = ThreadLocal.withInitial(Parser::of);
+
+    private List<Token> tokens;
+    private TokenBuffer columns;
+    private ErrorReporter reporter;
 
     private int position;
+    private Diagnostic error;
+    private int nodes;
+
+    private final List<Expr> open = new ArrayList<>();
+    private final List<ByteString> keys = new ArrayList<>();
+    private int[] starts = new int[16];
 
-    private Parser(List<Token> tokens, Reporter reporter) {
+    private Parser(List<Token> tokens, ErrorReporter reporter) {
         this.tokens = tokens;
         this.reporter = reporter;
     }
 
-    public static List<Expr> parse(List<Token> tokens, Reporter reporter) {
+    public static List<Expr> parse(List<Token> tokens, ErrorReporter reporter) {
         Parser parser = new Parser(tokens, reporter);
         return parser.parse();
     }
 
-    private List<Expr> parse() {
-        List<Expr> expressions = new ArrayList<>();
+    public static List<Expr> parse(TokenBuffer tokens, ErrorReporter reporter) {
+        return of().reset(tokens, reporter).parse();
+    }
+
+    public static Parser of() {
+        return new Parser(null, null);
+    }
+
+    public static Parser local() {
+        return LOCAL.get();
+    }
+
+    public Parser reset(List<Token> tokens, ErrorReporter reporter) {
+        this.tokens = tokens;
+        this.columns = null;
+        this.reporter = reporter;
+        position = 0;
+        return this;
+    }
+
+    public Parser reset(TokenBuffer tokens, ErrorReporter reporter) {
+        this.tokens = null;
+        this.columns = tokens;
+        this.reporter = reporter;
+        position = 0;
+        return this;
+    }
 
-        while (position < tokens.size()) {
-            try {
-                expressions.add(parseExpr());
-            } catch (TranslateBencodeException e) {
-                reporter.report(e.getMessage());
+    public List<Expr> parse() {
+        List<Expr> expressions = new ArrayList<>();
+        error = null;
+        nodes = 0;
+        open.clear();
+        keys.clear();
+
+        while (position < size()) {
+            Expr expr = parseExpr();
+            if (expr == null) {
+                reporter.report(error);
                 return null;
             }
+            expressions.add(expr);
         }
         return expressions;
     }
 
-    private Expr parseExpr() throws TranslateBencodeException {
-        return switch (tokens.get(position).tokenType()) {
-            case LIST -> parseList();
-            case DICTIONARY -> parseDictionary();
-            case STRING -> parseString();
-            case INTEGER -> parseInteger();
-            default -> {
-                String message = unexpectedToken("Expected value",
-                        tokens.get(position), TokenType.INTEGER, TokenType.STRING, TokenType.LIST, TokenType.DICTIONARY);
+    public int nodes() {
+        return nodes;
+    }
 
-                throw new TranslateBencodeException(message);
+    private Expr parseExpr() {
+        while (true) {
+            nodes++;
+            Expr value = switch (type(position)) {
+                case LIST, DICTIONARY -> {
+                    if (open.size() == starts.length) starts = Arrays.copyOf(starts, starts.length * 2);
+                    starts[open.size()] = position;
+                    open.add(type(position) == TokenType.LIST
+                            ? new Expr.Array(new ArrayList<>()) : new Expr.Dictionary(new LinkedHashMap<>()));
+                    keys.add(null);
+                    position++;
+                    yield null;
+                }
+                case STRING -> parseString();
+                case INTEGER -> parseInteger();
+                default -> fail(unexpectedToken(Code.EXPECTED_VALUE,
+                        position, TokenType.INTEGER, TokenType.STRING, TokenType.LIST, TokenType.DICTIONARY));
+            };
+            if (error != null) return null;
+
+            while (true) {
+                int top = open.size() - 1;
+                if (value != null) {
+                    if (top < 0) return value;
+                    switch (open.get(top)) {
+                        case Expr.Array array -> array.value().add(value);
+                        case Expr.Dictionary dictionary -> dictionary.value().put(keys.get(top), value);
+                        default -> throw new IllegalStateException();
+                    }
+                }
+
+                if (position >= size()) return fail(unexpectedToken(Code.NO_END, starts[top], TokenType.TYPE_END));
+                if (type(position) == TokenType.TYPE_END) {
+                    position++;
+                    keys.remove(top);
+                    value = open.remove(top);
+                    continue;
+                }
+
+                if (open.get(top) instanceof Expr.Dictionary) {
+                    ByteString key = addKey(keys.get(top));
+                    if (error != null) return null;
+                    keys.set(top, key);
+
+                    if (position >= size())
+                        return fail(Diagnostic.of("Expected value and end complex type in end of file"));
+                }
+                break;
             }
-        };
+        }
     }
 
     private Expr parseString() {
         position++;
-        return new Expr.Line((String) tokens.get(position - 1).value());
-    }
+        if (columns != null) return new Expr.Line(columns.string(position - 1));
 
-    private Expr parseInteger() {
-        position++;
-        return new Expr.Number((Integer) tokens.get(position - 1).value());
+        return new Expr.Line(bytes(tokens.get(position - 1)));
     }
 
-    private Expr parseList() throws TranslateBencodeException {
-        int startType = position;
+    private Expr parseInteger() {
         position++;
-
-        List<Expr> list = new ArrayList<>();
-
-        while (position < tokens.size()) {
-            if (tokens.get(position).tokenType() == TokenType.TYPE_END) {
-                position++;
-                return new Expr.Array(list);
-            }
-
-            list.add(parseExpr());
+        if (columns != null) {
+            BigInteger big = columns.bigNumber(position - 1);
+            return big != null ? new Expr.BigNumber(big) : new Expr.Number(columns.number(position - 1));
         }
 
-        throw new TranslateBencodeException(unexpectedToken("No end complex char, complex type:",
-                                                            tokens.get(startType), TokenType.TYPE_END));
+        Token token = tokens.get(position - 1);
+        return token.value() instanceof BigInteger big ? new Expr.BigNumber(big) : new Expr.Number(token.number());
     }
 
-    private Expr parseDictionary() throws TranslateBencodeException {
-        int startType = position;
-        position++;
-
-        LinkedHashMap<String, Expr> map = new LinkedHashMap<>();
-        String previousKey = null;
-
-        while (position < tokens.size()) {
-            if (tokens.get(position).tokenType() == TokenType.TYPE_END) {
-                position++;
-                return new Expr.Dictionary(map);
-            }
-
-            String key = addKey(previousKey);
-            previousKey = key;
+    private ByteString addKey(ByteString previousKey) {
+        if (type(position) != TokenType.STRING) {
+            fail(unexpectedToken(Code.INVALID_KEY, position, TokenType.STRING));
+            return null;
+        }
 
-            if (position >= tokens.size())
-                throw new TranslateBencodeException("Expected value and end complex type in end of file");
+        ByteString key = columns != null ? columns.string(position) : bytes(tokens.get(position));
 
-            Expr value = parseExpr();
-            map.put(key, value);
+        if (previousKey != null && previousKey.compareTo(key) >= 0) {
+            fail(unexpectedToken(Code.WRONG_KEY_ORDER, position, TokenType.STRING));
+            return null;
         }
 
-        throw new TranslateBencodeException(unexpectedToken("No end complex char, complex type:"
-                                                            , tokens.get(startType), TokenType.TYPE_END));
+        position++;
+        return key;
     }
 
-    private String addKey(String previousKey) throws TranslateBencodeException {
-        if (tokens.get(position).tokenType() != TokenType.STRING)
-            throw new TranslateBencodeException(unexpectedToken("Invalid key"
-                                                , tokens.get(position), TokenType.STRING));
+    private Expr fail(Diagnostic diagnostic) {
+        error = diagnostic;
+        return null;
+    }
 
-        String key = (String) tokens.get(position).value();
+    private static ByteString bytes(Token token) {
+        return token.value() instanceof String str ? ByteString.of(str) : (ByteString) token.value();
+    }
 
-        if (previousKey != null && previousKey.compareTo(key) >= 0)
-            throw new TranslateBencodeException(unexpectedToken("Wrong key order"
-                                                                , tokens.get(position), TokenType.STRING));
+    private int size() {
+        return columns != null ? columns.size() : tokens.size();
+    }
 
-        position++;
-        return key;
+    private TokenType type(int index) {
+        return columns != null ? columns.type(index) : tokens.get(index).tokenType();
     }
 
-    private String unexpectedToken(String message, Token token, TokenType... expected) {
-        String position = "Line " + token.nLine() + ", position: " + token.pos();
-        return """
-                %s
-                %s
-                Expected tokens: %s,
-                Actual: %s
-                """.formatted(message, position, Arrays.toString(expected), token.tokenType());
+    private Diagnostic unexpectedToken(Code code, int index, TokenType... expected) {
+        if (columns != null) return Diagnostic.unexpected(code, 0, columns.offset(index), type(index), expected);
+
+        Token token = tokens.get(index);
+        return Diagnostic.unexpected(code, token.nLine(), token.pos(), type(index), expected);
     }
 }
@@ -0,0 +1,228 @@
+package parser;
+
+import error.ErrorReporter;
+import error.TranslateBencodeException;
+import lexer.ByteInput;
+import lexer.ByteString;
+import lexer.TokenType;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+public class Tape {
+    private static final int STRING = 1;
+    private static final int INTEGER = 2;
+    private static final int BIG_INTEGER = 3;
+    private static final int LIST = 4;
+    private static final int DICTIONARY = 5;
+
+    private static final int KIND_SHIFT = 56;
+    private static final long PAYLOAD_MASK = (1L << KIND_SHIFT) - 1;
+
+    private final ByteBuffer input;
+    private final List<BigInteger> bigNumbers = new ArrayList<>();
+
+    private long[] tape = new long[64];
+    private int nodes;
+
+    private Tape(ByteBuffer input) {
+        this.input = input;
+    }
+
+    public static Tape parse(ByteBuffer buffer, ErrorReporter reporter) {
+        Tape tape = new Tape(buffer.slice());
+        try {
+            return tape.parse() ? tape : null;
+        } catch (TranslateBencodeException e) {
+            reporter.report(e.diagnostic());
+            return null;
+        }
+    }
+
+    private boolean parse() throws TranslateBencodeException {
+        BencodeReader reader = BencodeReader.of(ByteInput.of(input.duplicate()));
+        int[] open = new int[16];
+        int depth = 0;
+
+        TokenType type;
+        while ((type = reader.peek()) != null) {
+            if (type == TokenType.STRING && reader.isKeyExpected()) {
+                addString(reader.readKey(), reader.offset());
+                continue;
+            }
+            if (type == TokenType.TYPE_END) {
+                reader.nextEvent();
+                int start = open[--depth];
+                tape[start * 2] |= nodes;
+                continue;
+            }
+
+            if (depth > 0) tape[open[depth - 1] * 2 + 1]++;
+
+            switch (type) {
+                case STRING -> addString(reader.readBytes(), reader.offset());
+                case INTEGER -> {
+                    long number = reader.readNumber();
+                    if (reader.overflow() == null) {
+                        add(INTEGER, 0, number);
+                    } else {
+                        add(BIG_INTEGER, bigNumbers.size(), 0);
+                        bigNumbers.add(reader.overflow());
+                    }
+                }
+                case LIST, DICTIONARY -> {
+                    reader.nextEvent();
+                    if (depth == open.length) open = Arrays.copyOf(open, depth * 2);
+                    open[depth++] = nodes;
+                    add(type == TokenType.LIST ? LIST : DICTIONARY, 0, 0);
+                }
+            }
+        }
+
+        tape = Arrays.copyOf(tape, nodes * 2);
+        return nodes > 0;
+    }
+
+    private void addString(ByteString str, long end) {
+        add(STRING, end - str.length(), str.length());
+    }
+
+    private void add(int kind, long payload, long value) {
+        if (nodes * 2 == tape.length) tape = Arrays.copyOf(tape, tape.length * 2);
+        tape[nodes * 2] = (long) kind << KIND_SHIFT | payload;
+        tape[nodes * 2 + 1] = value;
+        nodes++;
+    }
+
+    public int size() {
+        return nodes;
+    }
+
+    public int first() {
+        return 0;
+    }
+
+    public boolean hasNode(int node) {
+        return node < nodes;
+    }
+
+    public int next(int node) {
+        int kind = kind(node);
+        return kind == LIST || kind == DICTIONARY ? (int) payload(node) : node + 1;
+    }
+
+    public TokenType type(int node) {
+        return switch (kind(node)) {
+            case STRING -> TokenType.STRING;
+            case INTEGER, BIG_INTEGER -> TokenType.INTEGER;
+            case LIST -> TokenType.LIST;
+            case DICTIONARY -> TokenType.DICTIONARY;
+            default -> throw new IllegalArgumentException("Not a node: " + node);
+        };
+    }
+
+    public int childCount(int node) {
+        checkKind(node, LIST, DICTIONARY);
+        return (int) tape[node * 2 + 1];
+    }
+
+    public long number(int node) {
+        checkKind(node, INTEGER, INTEGER);
+        return tape[node * 2 + 1];
+    }
+
+    public BigInteger bigNumber(int node) {
+        if (kind(node) == INTEGER) return BigInteger.valueOf(tape[node * 2 + 1]);
+        checkKind(node, BIG_INTEGER, BIG_INTEGER);
+        return bigNumbers.get((int) payload(node));
+    }
+
+    public ByteString string(int node) {
+        checkKind(node, STRING, STRING);
+        return ByteString.slice(input, (int) payload(node), (int) tape[node * 2 + 1]);
+    }
+
+    public int get(int list, int index) {
+        checkKind(list, LIST, LIST);
+        if (index < 0 || index >= childCount(list)) return -1;
+
+        int child = list + 1;
+        for (int i = 0; i < index; i++) child = next(child);
+        return child;
+    }
+
+    public int get(int dictionary, String key) {
+        checkKind(dictionary, DICTIONARY, DICTIONARY);
+        ByteString expected = ByteString.of(key);
+
+        int child = dictionary + 1;
+        for (int i = 0; i < childCount(dictionary); i++) {
+            int order = string(child).compareTo(expected);
+            if (order == 0) return child + 1;
+            if (order > 0) return -1;
+            child = next(child + 1);
+        }
+        return -1;
+    }
+
+    public List<Expr> toExpr() {
+        List<Expr> expressions = new ArrayList<>();
+        for (int node = first(); hasNode(node); node = next(node)) expressions.add(toExpr(node));
+        return expressions;
+    }
+
+    public Expr toExpr(int node) {
+        int end = next(node);
+        List<Expr> open = new ArrayList<>();
+        int[] ends = new int[16];
+        ByteString key = null;
+        Expr root = null;
+
+        for (int i = node; i < end; i++) {
+            while (!open.isEmpty() && ends[open.size() - 1] <= i) open.remove(open.size() - 1);
+            Expr top = open.isEmpty() ? null : open.get(open.size() - 1);
+
+            if (top instanceof Expr.Dictionary && key == null) {
+                key = string(i);
+                continue;
+            }
+
+            Expr value = switch (kind(i)) {
+                case STRING -> new Expr.Line(string(i));
+                case INTEGER -> new Expr.Number(number(i));
+                case BIG_INTEGER -> new Expr.BigNumber(bigNumber(i));
+                case LIST -> new Expr.Array(new ArrayList<>(childCount(i)));
+                case DICTIONARY -> new Expr.Dictionary(new LinkedHashMap<>());
+                default -> throw new IllegalArgumentException("Not a node: " + i);
+            };
+
+            if (top instanceof Expr.Array array) array.value().add(value);
+            else if (top instanceof Expr.Dictionary dictionary) dictionary.value().put(key, value);
+            else root = value;
+            key = null;
+
+            if (value instanceof Expr.Array || value instanceof Expr.Dictionary) {
+                if (open.size() == ends.length) ends = Arrays.copyOf(ends, ends.length * 2);
+                ends[open.size()] = next(i);
+                open.add(value);
+            }
+        }
+        return root;
+    }
+
+    private int kind(int node) {
+        if (node < 0 || node >= nodes) throw new IndexOutOfBoundsException(node);
+        return (int) (tape[node * 2] >>> KIND_SHIFT);
+    }
+
+    private long payload(int node) {
+        return tape[node * 2] & PAYLOAD_MASK;
+    }
+
+    private void checkKind(int node, int kind, int other) {
+        int actual = kind(node);
+        if (actual != kind && actual != other)
+            throw new IllegalArgumentException("Node %d is %s".formatted(node, type(node)));
+    }
+}
@@ -0,0 +1,97 @@
+package printer;
+
+import lexer.ByteString;
+import parser.Expr;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+public class BencodeEncoder {
+    private final BencodeWriter writer;
+    private final ArrayDeque<Iterator<?>> open = new ArrayDeque<>();
+
+    private BencodeEncoder(BencodeWriter writer) {
+        this.writer = writer;
+    }
+
+    public static byte[] encode(List<Expr> expressions) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encode(expressions, out);
+        return out.toByteArray();
+    }
+
+    public static void encode(List<Expr> expressions, OutputStream out) {
+        BencodeEncoder encoder = new BencodeEncoder(BencodeWriter.of(out));
+        expressions.forEach(encoder::encode);
+        encoder.writer.flush();
+    }
+
+    public static ByteBuffer encode(List<Expr> expressions, ByteBuffer buffer) {
+        BencodeEncoder encoder = new BencodeEncoder(BencodeWriter.of(buffer));
+        expressions.forEach(encoder::encode);
+        return buffer;
+    }
+
+    private void encode(Expr expr) {
+        write(expr);
+        while (!open.isEmpty()) {
+            Iterator<?> children = open.peek();
+            if (!children.hasNext()) {
+                open.pop();
+                writer.end();
+                continue;
+            }
+
+            Object child = children.next();
+            if (child instanceof Map.Entry<?, ?> entry) {
+                writer.key((ByteString) entry.getKey());
+                write((Expr) entry.getValue());
+            } else {
+                write((Expr) child);
+            }
+        }
+    }
+
+    private void write(Expr expr) {
+        switch (expr) {
+            case Expr.Line n -> writer.bytes(n.value());
+            case Expr.Number n -> writer.integer(n.value());
+            case Expr.BigNumber n -> writer.bigInteger(n.value());
+            case Expr.Array n -> encodeArray(n);
+            case Expr.Dictionary n -> encodeDictionary(n);
+        }
+    }
+
+    private void encodeArray(Expr.Array array) {
+        writer.startList();
+        open.push(array.value().iterator());
+    }
+
+    private void encodeDictionary(Expr.Dictionary dictionary) {
+        Map<ByteString, Expr> map = dictionary.value();
+        writer.startDict();
+
+        if (isSorted(map)) {
+            open.push(map.entrySet().iterator());
+        } else {
+            ByteString[] keys = map.keySet().toArray(new ByteString[0]);
+            Arrays.sort(keys);
+            open.push(Arrays.stream(keys).map(key -> Map.entry(key, map.get(key))).iterator());
+        }
+    }
+
+    private static boolean isSorted(Map<ByteString, Expr> map) {
+        ByteString previous = null;
+        for (ByteString key : map.keySet()) {
+            if (previous != null && previous.compareTo(key) >= 0) return false;
+            previous = key;
+        }
+        return true;
+    }
+}
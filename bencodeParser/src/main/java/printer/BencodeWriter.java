@@ -0,0 +1,159 @@
+package printer;
+
+import lexer.ByteString;
+import parser.BencodeHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class BencodeWriter implements BencodeHandler {
+    private static final int BUFFER_SIZE = 1 << 13;
+
+    private final OutputStream stream;
+    private final ByteBuffer buffer;
+    private final byte[] digits = new byte[20];
+
+    private BencodeWriter(OutputStream stream, ByteBuffer buffer) {
+        this.stream = stream;
+        this.buffer = buffer;
+    }
+
+    public static BencodeWriter of(OutputStream out) {
+        return new BencodeWriter(out, ByteBuffer.allocate(BUFFER_SIZE));
+    }
+
+    public static BencodeWriter of(ByteBuffer buffer) {
+        return new BencodeWriter(null, buffer);
+    }
+
+    @Override
+    public boolean startDict() {
+        append('d');
+        return true;
+    }
+
+    @Override
+    public boolean startList() {
+        append('l');
+        return true;
+    }
+
+    @Override
+    public void key(ByteString key) {
+        bytes(key);
+    }
+
+    public void key(String key) {
+        int length = utf8Length(key);
+        appendNumber(length);
+        append(':');
+
+        if (length == key.length()) {
+            for (int i = 0; i < length; i++) append(key.charAt(i));
+        } else {
+            append(ByteBuffer.wrap(key.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Override
+    public void integer(long value) {
+        append('i');
+        appendNumber(value);
+        append('e');
+    }
+
+    @Override
+    public void bigInteger(BigInteger value) {
+        append('i');
+        String str = value.toString();
+        for (int i = 0; i < str.length(); i++) append(str.charAt(i));
+        append('e');
+    }
+
+    @Override
+    public void bytes(ByteString value) {
+        appendNumber(value.length());
+        append(':');
+        append(value.asBuffer());
+    }
+
+    @Override
+    public void end() {
+        append('e');
+    }
+
+    public void flush() {
+        if (stream == null) return;
+        try {
+            drain();
+            stream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void appendNumber(long value) {
+        if (value < 0) append('-');
+
+        int start = digits.length;
+        do {
+            digits[--start] = (byte) ('0' + Math.abs(value % 10));
+            value /= 10;
+        } while (value != 0);
+        while (start < digits.length) append((char) digits[start++]);
+    }
+
+    private void append(char c) {
+        if (stream != null && !buffer.hasRemaining()) drainUnchecked();
+        buffer.put((byte) c);
+    }
+
+    private void append(ByteBuffer bytes) {
+        if (stream == null) {
+            buffer.put(bytes);
+            return;
+        }
+        while (bytes.hasRemaining()) {
+            if (!buffer.hasRemaining()) drainUnchecked();
+            int n = Math.min(bytes.remaining(), buffer.remaining());
+            buffer.put(buffer.position(), bytes, bytes.position(), n);
+            buffer.position(buffer.position() + n);
+            bytes.position(bytes.position() + n);
+        }
+    }
+
+    private void drainUnchecked() {
+        try {
+            drain();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void drain() throws IOException {
+        stream.write(buffer.array(), 0, buffer.position());
+        buffer.clear();
+    }
+
+    private static int utf8Length(String str) {
+        int length = str.length();
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < str.length() && Character.isLowSurrogate(str.charAt(i + 1))) {
+                    length += 2;
+                    i++;
+                }
+            } else if (c >= 0x800) {
+                length += 2;
+            } else if (c >= 0x80) {
+                length++;
+            }
+        }
+        return length;
+    }
+}
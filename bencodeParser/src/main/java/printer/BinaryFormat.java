@@ -0,0 +1,7 @@
+package printer;
+
+public enum BinaryFormat {
+    UTF8,
+    HEX,
+    BASE64
+}
@@ -0,0 +1,32 @@
+package printer;
+
+public final class JsonFormat {
+    public static final JsonFormat COMPACT = new JsonFormat(true, 0);
+    public static final JsonFormat PRETTY = new JsonFormat(false, 1);
+
+    private final boolean compact;
+    private final int indent;
+
+    private JsonFormat(boolean compact, int indent) {
+        this.compact = compact;
+        this.indent = indent;
+    }
+
+    public static JsonFormat pretty(int indent) {
+        if (indent < 0) throw new IllegalArgumentException("Negative indent: " + indent);
+        return indent == PRETTY.indent ? PRETTY : new JsonFormat(false, indent);
+    }
+
+    public boolean isCompact() {
+        return compact;
+    }
+
+    public int indent() {
+        return indent;
+    }
+
+    @Override
+    public String toString() {
+        return compact ? "compact" : "pretty(" + indent + ")";
+    }
+}
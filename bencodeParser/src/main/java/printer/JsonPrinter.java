@@ -1,68 +1,84 @@
 package printer;
 
+import lexer.ByteString;
 import parser.Expr;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 public class JsonPrinter {
-    List<Expr> expressions;
-    int numberDictionaries;
+    private final List<Expr> expressions;
+    private final JsonWriter writer;
+    private final ArrayDeque<Iterator<?>> open = new ArrayDeque<>();
 
-    private JsonPrinter(List<Expr> expressions) {
+    private JsonPrinter(List<Expr> expressions, JsonWriter writer) {
         this.expressions = expressions;
+        this.writer = writer;
     }
 
     public static String print(List<Expr> expressions) {
-        JsonPrinter jsonPrinter = new JsonPrinter(expressions);
-        return jsonPrinter.print();
+        StringBuilder out = new StringBuilder();
+        print(expressions, out);
+        return out.toString();
     }
 
-    private String print() {
-        return expressions.stream().map(this::toJson).collect(Collectors.joining("\n"));
+    public static void print(List<Expr> expressions, Appendable out) {
+        print(expressions, out, BinaryFormat.UTF8);
     }
 
-    private String toJson(Expr expr) {
-        return switch (expr) {
-            case Expr.Line n -> getLine(n);
-            case Expr.Number n -> getNumber(n);
-            case Expr.Array n -> getArray(n);
-            case Expr.Dictionary n -> getDictionary(n);
-        };
-    }
-
-    private String getLine(Expr.Line line) {
-        return '"' + line.value() + '"';
+    public static void print(List<Expr> expressions, Appendable out, BinaryFormat binaryFormat) {
+        print(expressions, out, binaryFormat, JsonFormat.PRETTY);
     }
 
-    private String getNumber(Expr.Number line) {
-        return line.value().toString();
+    public static void print(List<Expr> expressions, Appendable out, BinaryFormat binaryFormat, JsonFormat format) {
+        JsonPrinter jsonPrinter = new JsonPrinter(expressions, JsonWriter.of(out, binaryFormat, format));
+        jsonPrinter.print();
     }
 
-    private String getArray(Expr.Array line) {
-        return  "["
-                + line.value().stream().map(this::toJson).collect(Collectors.joining(", "))
-                + "]";
+    private void print() {
+        expressions.forEach(this::toJson);
+        writer.flush();
     }
 
-    private String getDictionary(Expr.Dictionary dictionary) {
-        StringJoiner str = new StringJoiner("\n");
+    private void toJson(Expr expr) {
+        write(expr);
+        while (!open.isEmpty()) {
+            Iterator<?> children = open.peek();
+            if (!children.hasNext()) {
+                open.pop();
+                writer.end();
+                continue;
+            }
 
-        if (numberDictionaries > 0) str.add("");
-        str.add(" ".repeat(numberDictionaries) + "{");
-        numberDictionaries++;
+            Object child = children.next();
+            if (child instanceof Map.Entry<?, ?> entry) {
+                writer.key((ByteString) entry.getKey());
+                write((Expr) entry.getValue());
+            } else {
+                write((Expr) child);
+            }
+        }
+    }
 
-        str.add(dictionary.value().keySet().stream()
-                .map(key -> addMapEntry(dictionary.value(), key)).collect(Collectors.joining(",\n")));
-        numberDictionaries--;
-        str.add(" ".repeat(numberDictionaries) + "}");
+    private void write(Expr expr) {
+        switch (expr) {
+            case Expr.Line n -> writer.bytes(n.value());
+            case Expr.Number n -> writer.integer(n.value());
+            case Expr.BigNumber n -> writer.bigInteger(n.value());
+            case Expr.Array n -> getArray(n);
+            case Expr.Dictionary n -> getDictionary(n);
+        }
+    }
 
-        return str.toString();
+    private void getArray(Expr.Array array) {
+        writer.startList();
+        open.push(array.value().iterator());
     }
 
-    private String addMapEntry(Map<String, Expr> map, String key) {
-        return " ".repeat(numberDictionaries)
-                + "\"" + key + "\""
-                + ": " + toJson(map.get(key));
+    private void getDictionary(Expr.Dictionary dictionary) {
+        writer.startDict();
+        open.push(dictionary.value().entrySet().iterator());
     }
 }
@@ -0,0 +1,367 @@
+package printer;
+
+import lexer.ByteString;
+import parser.BencodeHandler;
+
+import java.io.*;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class JsonWriter implements BencodeHandler {
+    private static final int BUFFER_SIZE = 1 << 13;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final char[] BASE64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+    private static final char[] ESCAPES = new char[128];
+
+    static {
+        for (int c = 0; c < 0x20; c++) ESCAPES[c] = 'u';
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+        ESCAPES['\t'] = 't';
+    }
+
+    private final Appendable out;
+    private final OutputStream stream;
+    private final byte[] buffer;
+    private int count;
+    private final BinaryFormat binaryFormat;
+    private final boolean compact;
+    private final int indent;
+    private final String keySeparator;
+    private final String valueSeparator;
+
+    private boolean[] dictionaries = new boolean[16];
+    private int[] counts = new int[16];
+    private int depth;
+    private int numberDictionaries;
+    private String spaces = " ".repeat(32);
+
+    private JsonWriter(Appendable out, OutputStream stream, BinaryFormat binaryFormat, JsonFormat format) {
+        this.out = out;
+        this.stream = stream;
+        this.buffer = stream == null ? null : new byte[BUFFER_SIZE];
+        this.binaryFormat = binaryFormat;
+        this.compact = format.isCompact();
+        this.indent = format.indent();
+        this.keySeparator = compact ? "\":" : "\": ";
+        this.valueSeparator = compact ? "," : ", ";
+    }
+
+    public static JsonWriter of(Appendable out) {
+        return of(out, BinaryFormat.UTF8);
+    }
+
+    public static JsonWriter of(Appendable out, BinaryFormat binaryFormat) {
+        return of(out, binaryFormat, JsonFormat.PRETTY);
+    }
+
+    public static JsonWriter of(Appendable out, BinaryFormat binaryFormat, JsonFormat format) {
+        return new JsonWriter(out, null, binaryFormat, format);
+    }
+
+    public static JsonWriter of(OutputStream out) {
+        return of(out, BinaryFormat.UTF8);
+    }
+
+    public static JsonWriter of(OutputStream out, BinaryFormat binaryFormat) {
+        return of(out, binaryFormat, JsonFormat.PRETTY);
+    }
+
+    public static JsonWriter of(OutputStream out, BinaryFormat binaryFormat, JsonFormat format) {
+        return new JsonWriter(null, out, binaryFormat, format);
+    }
+
+    @Override
+    public boolean startDict() {
+        beforeValue();
+        if (numberDictionaries > 0 && !compact) {
+            append('\n');
+            indent(numberDictionaries);
+        }
+        append('{');
+        push(true);
+        numberDictionaries++;
+        return true;
+    }
+
+    @Override
+    public boolean startList() {
+        beforeValue();
+        append('[');
+        push(false);
+        return true;
+    }
+
+    @Override
+    public void key(ByteString key) {
+        beforeKey();
+        appendBytes(key);
+        append(keySeparator);
+    }
+
+    public void key(String key) {
+        beforeKey();
+        appendEscaped(key);
+        append(keySeparator);
+    }
+
+    @Override
+    public void integer(long value) {
+        beforeValue();
+        append(Long.toString(value));
+    }
+
+    @Override
+    public void bigInteger(BigInteger value) {
+        beforeValue();
+        append(value.toString());
+    }
+
+    @Override
+    public void bytes(ByteString value) {
+        beforeValue();
+        append('"');
+        appendBytes(value);
+        append('"');
+    }
+
+    public void string(String value) {
+        beforeValue();
+        append('"');
+        appendEscaped(value);
+        append('"');
+    }
+
+    @Override
+    public void end() {
+        if (dictionaries[depth] && compact) {
+            numberDictionaries--;
+            append('}');
+        } else if (dictionaries[depth]) {
+            numberDictionaries--;
+            if (counts[depth] == 0) append('\n');
+            append('\n');
+            indent(numberDictionaries);
+            append('}');
+        } else {
+            append(']');
+        }
+        depth--;
+    }
+
+    public void flush() {
+        try {
+            if (stream != null) {
+                stream.write(buffer, 0, count);
+                count = 0;
+                stream.flush();
+            } else if (out instanceof Flushable flushable) {
+                flushable.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void discard() {
+        count = 0;
+    }
+
+    private void beforeKey() {
+        if (compact) {
+            if (counts[depth]++ > 0) append(',');
+        } else {
+            append(counts[depth]++ > 0 ? ",\n" : "\n");
+            indent(numberDictionaries);
+        }
+        append('"');
+    }
+
+    private void beforeValue() {
+        if (depth == 0) {
+            if (counts[0]++ > 0) append('\n');
+        } else if (!dictionaries[depth]) {
+            if (counts[depth]++ > 0) append(valueSeparator);
+        }
+    }
+
+    private void push(boolean dictionary) {
+        depth++;
+        if (depth == dictionaries.length) {
+            dictionaries = Arrays.copyOf(dictionaries, depth * 2);
+            counts = Arrays.copyOf(counts, depth * 2);
+        }
+        dictionaries[depth] = dictionary;
+        counts[depth] = 0;
+    }
+
+    private void indent(int level) {
+        int n = level * indent;
+        while (spaces.length() < n) spaces = spaces + spaces;
+        append(spaces, n);
+    }
+
+    private void append(char c) {
+        try {
+            if (stream == null) {
+                out.append(c);
+                return;
+            }
+            if (count == buffer.length) drain();
+            buffer[count++] = (byte) c;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void append(CharSequence str) {
+        append(str, str.length());
+    }
+
+    private void append(CharSequence str, int end) {
+        try {
+            if (stream == null) {
+                out.append(str, 0, end);
+                return;
+            }
+            for (int i = 0; i < end; i++) {
+                if (count == buffer.length) drain();
+                buffer[count++] = (byte) str.charAt(i);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void appendBytes(ByteString str) {
+        switch (binaryFormat) {
+            case UTF8 -> appendEscaped(str);
+            case HEX -> appendHex(str);
+            case BASE64 -> appendBase64(str);
+        }
+    }
+
+    private void appendEscaped(ByteString str) {
+        if (stream == null || !str.isUtf8()) {
+            appendEscaped(str.toString());
+            return;
+        }
+
+        ByteBuffer bytes = str.asBuffer();
+        int start = 0;
+        for (int i = 0; i < bytes.limit(); i++) {
+            int b = bytes.get(i);
+            if (b >= 0 && ESCAPES[b] != 0) {
+                copy(bytes, start, i);
+                appendEscape(b);
+                start = i + 1;
+            }
+        }
+        copy(bytes, start, bytes.limit());
+    }
+
+    private void appendEscaped(String str) {
+        if (stream != null && !isAscii(str)) {
+            appendEscaped(ByteString.of(str));
+            return;
+        }
+
+        int start = 0;
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c < ESCAPES.length && ESCAPES[c] != 0) {
+                appendRun(str, start, i);
+                appendEscape(c);
+                start = i + 1;
+            }
+        }
+
+        if (start == 0) append(str);
+        else appendRun(str, start, str.length());
+    }
+
+    private void appendEscape(int c) {
+        append('\\');
+        append(ESCAPES[c]);
+        if (ESCAPES[c] == 'u') {
+            append('0');
+            append('0');
+            append(HEX[c >> 4]);
+            append(HEX[c & 0xF]);
+        }
+    }
+
+    private void appendRun(String str, int start, int end) {
+        if (start == end) return;
+        try {
+            if (stream == null) {
+                out.append(str, start, end);
+                return;
+            }
+            for (int i = start; i < end; i++) {
+                if (count == buffer.length) drain();
+                buffer[count++] = (byte) str.charAt(i);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void copy(ByteBuffer bytes, int start, int end) {
+        try {
+            while (start < end) {
+                if (count == buffer.length) drain();
+                int n = Math.min(end - start, buffer.length - count);
+                bytes.get(start, buffer, count, n);
+                count += n;
+                start += n;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void appendHex(ByteString str) {
+        for (int i = 0; i < str.length(); i++) {
+            append(HEX[str.byteAt(i) >> 4]);
+            append(HEX[str.byteAt(i) & 0xF]);
+        }
+    }
+
+    private void appendBase64(ByteString str) {
+        int i = 0;
+        for (; i + 2 < str.length(); i += 3) {
+            int bits = str.byteAt(i) << 16 | str.byteAt(i + 1) << 8 | str.byteAt(i + 2);
+            append(BASE64[bits >> 18]);
+            append(BASE64[bits >> 12 & 0x3F]);
+            append(BASE64[bits >> 6 & 0x3F]);
+            append(BASE64[bits & 0x3F]);
+        }
+
+        int rest = str.length() - i;
+        if (rest == 0) return;
+
+        int bits = str.byteAt(i) << 16 | (rest == 2 ? str.byteAt(i + 1) << 8 : 0);
+        append(BASE64[bits >> 18]);
+        append(BASE64[bits >> 12 & 0x3F]);
+        append(rest == 2 ? BASE64[bits >> 6 & 0x3F] : '=');
+        append('=');
+    }
+
+    private void drain() throws IOException {
+        stream.write(buffer, 0, count);
+        count = 0;
+    }
+
+    private static boolean isAscii(CharSequence str) {
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) >= 0x80) return false;
+        }
+        return true;
+    }
+}
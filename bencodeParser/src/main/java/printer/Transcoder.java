@@ -0,0 +1,43 @@
+package printer;
+
+import error.ErrorReporter;
+import lexer.ByteInput;
+import parser.BencodeReader;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+public class Transcoder {
+
+    private Transcoder() {}
+
+    public static boolean transcode(ByteInput input, OutputStream out, ErrorReporter reporter) {
+        return transcode(input, out, BinaryFormat.UTF8, reporter);
+    }
+
+    public static boolean transcode(ByteInput input, OutputStream out, BinaryFormat binaryFormat, ErrorReporter reporter) {
+        return transcode(input, out, binaryFormat, JsonFormat.PRETTY, reporter);
+    }
+
+    public static boolean transcode(ByteInput input, OutputStream out, BinaryFormat binaryFormat,
+                                    JsonFormat format, ErrorReporter reporter) {
+        JsonWriter writer = JsonWriter.of(out, binaryFormat, format);
+        boolean valid = BencodeReader.parse(input, writer, reporter);
+        if (valid) writer.flush();
+        else writer.discard();
+        return valid;
+    }
+
+    public static boolean transcode(ByteInput input, Appendable out, ErrorReporter reporter) {
+        StringBuilder json = new StringBuilder();
+        if (!BencodeReader.parse(input, JsonWriter.of(json), reporter)) return false;
+
+        try {
+            out.append(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,155 @@
+package query;
+
+import error.ErrorReporter;
+import error.TranslateBencodeException;
+import lexer.ByteInput;
+import lexer.ByteString;
+import lexer.TokenType;
+import parser.BencodeReader;
+import parser.Expr;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PathQuery {
+
+    private sealed interface Step {
+        record Key(ByteString name) implements Step {}
+
+        record Index(int index) implements Step {}
+
+        record Any() implements Step {}
+    }
+
+    private final String path;
+    private final List<Step> steps;
+
+    private PathQuery(String path, List<Step> steps) {
+        this.path = path;
+        this.steps = steps;
+    }
+
+    public static PathQuery compile(String path) {
+        List<Step> steps = new ArrayList<>();
+        int position = 0;
+        boolean afterDot = false;
+
+        while (position < path.length()) {
+            char c = path.charAt(position);
+            if (c == '[' && !afterDot) {
+                int end = path.indexOf(']', position);
+                if (end < 0) throw new IllegalArgumentException(badPath(path, position, "Expected ']'"));
+
+                String index = path.substring(position + 1, end);
+                if (index.equals("*")) {
+                    steps.add(new Step.Any());
+                } else {
+                    try {
+                        steps.add(new Step.Index(Integer.parseUnsignedInt(index)));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException(badPath(path, position + 1, "Expected index or '*'"));
+                    }
+                }
+                position = end + 1;
+            } else if (c == '.' && position > 0 && !afterDot) {
+                afterDot = true;
+                position++;
+            } else {
+                int end = position;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') end++;
+                if (end == position) throw new IllegalArgumentException(badPath(path, position, "Expected key"));
+
+                String key = path.substring(position, end);
+                steps.add(key.equals("*") ? new Step.Any() : new Step.Key(ByteString.of(key)));
+                afterDot = false;
+                position = end;
+            }
+        }
+
+        if (afterDot) throw new IllegalArgumentException(badPath(path, position, "Expected key"));
+        return new PathQuery(path, steps);
+    }
+
+    public List<Expr> evaluate(List<Expr> expressions) {
+        List<Expr> results = new ArrayList<>();
+        for (Expr expr : expressions) match(expr, 0, results);
+        return results;
+    }
+
+    public List<Expr> evaluate(ByteInput input, ErrorReporter reporter) {
+        BencodeReader reader = BencodeReader.of(input);
+        List<Expr> results = new ArrayList<>();
+
+        try {
+            if (reader.peek() == null) return null;
+            while (reader.peek() != null) match(reader, 0, results);
+        } catch (TranslateBencodeException e) {
+            reporter.report(e.diagnostic());
+            return null;
+        }
+        return results;
+    }
+
+    private void match(Expr expr, int step, List<Expr> results) {
+        if (step == steps.size()) {
+            results.add(expr);
+            return;
+        }
+
+        switch (steps.get(step)) {
+            case Step.Key key -> {
+                if (expr instanceof Expr.Dictionary dictionary) {
+                    Expr value = dictionary.value().get(key.name());
+                    if (value != null) match(value, step + 1, results);
+                }
+            }
+            case Step.Index index -> {
+                if (expr instanceof Expr.Array array && index.index() < array.value().size())
+                    match(array.value().get(index.index()), step + 1, results);
+            }
+            case Step.Any any -> {
+                if (expr instanceof Expr.Array array) array.value().forEach(value -> match(value, step + 1, results));
+                if (expr instanceof Expr.Dictionary dictionary)
+                    dictionary.value().values().forEach(value -> match(value, step + 1, results));
+            }
+        }
+    }
+
+    private void match(BencodeReader reader, int step, List<Expr> results) throws TranslateBencodeException {
+        if (step == steps.size()) {
+            results.add(reader.readValue());
+            return;
+        }
+
+        TokenType type = reader.peek();
+        Step current = steps.get(step);
+
+        if (type == TokenType.DICTIONARY && !(current instanceof Step.Index)) {
+            reader.nextEvent();
+            while (reader.peek() != TokenType.TYPE_END) {
+                ByteString key = reader.readKey();
+                if (current instanceof Step.Key k && !k.name().equals(key)) reader.skipValue();
+                else match(reader, step + 1, results);
+            }
+            reader.nextEvent();
+        } else if (type == TokenType.LIST && !(current instanceof Step.Key)) {
+            reader.nextEvent();
+            for (int i = 0; reader.peek() != TokenType.TYPE_END; i++) {
+                if (current instanceof Step.Index index && index.index() != i) reader.skipValue();
+                else match(reader, step + 1, results);
+            }
+            reader.nextEvent();
+        } else {
+            reader.skipValue();
+        }
+    }
+
+    private static String badPath(String path, int position, String message) {
+        return "%s at position %d in path '%s'".formatted(message, position, path);
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
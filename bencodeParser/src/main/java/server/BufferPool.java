@@ -0,0 +1,30 @@
+package server;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+class BufferPool {
+    private final BlockingQueue<PooledBuffer> free;
+    private final int initialSize;
+    private final int maxRetainedSize;
+
+    BufferPool(int maxBuffers, int initialSize, int maxRetainedSize) {
+        this.free = new ArrayBlockingQueue<>(maxBuffers);
+        this.initialSize = initialSize;
+        this.maxRetainedSize = maxRetainedSize;
+    }
+
+    PooledBuffer acquire() {
+        PooledBuffer buffer = free.poll();
+        return buffer != null ? buffer : new PooledBuffer(initialSize);
+    }
+
+    void release(PooledBuffer buffer) {
+        buffer.reset();
+        if (buffer.capacity() <= maxRetainedSize) free.offer(buffer);
+    }
+
+    int available() {
+        return free.size();
+    }
+}
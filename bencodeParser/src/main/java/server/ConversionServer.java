@@ -0,0 +1,287 @@
+package server;
+
+import cache.ParseCache;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import error.Diagnostic;
+import error.Diagnostics;
+import error.ErrorReporter;
+import lexer.ByteInput;
+import metrics.Document;
+import metrics.Metrics;
+import metrics.Stage;
+import metrics.StageMetrics;
+import parser.Expr;
+import printer.BinaryFormat;
+import printer.JsonFormat;
+import printer.JsonPrinter;
+import printer.JsonWriter;
+import printer.Transcoder;
+import query.PathQuery;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class ConversionServer {
+    private static final int MAX_BODY_SIZE = 64 << 20;
+    private static final int LIMIT_ERROR_MESSAGES = 10;
+    public static final long DEFAULT_CACHE_BYTES = 64L << 20;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ParseCache cache;
+    private final BufferPool buffers = new BufferPool(256, 8 << 10, 1 << 20);
+
+    private ConversionServer(HttpServer server, ExecutorService executor, ParseCache cache) {
+        this.server = server;
+        this.executor = executor;
+        this.cache = cache;
+    }
+
+    public static ConversionServer start(InetSocketAddress address) throws IOException {
+        return start(address, executor());
+    }
+
+    public static ConversionServer start(InetSocketAddress address, ExecutorService executor) throws IOException {
+        return start(address, executor, ParseCache.of(DEFAULT_CACHE_BYTES));
+    }
+
+    public static ConversionServer start(InetSocketAddress address, ExecutorService executor, ParseCache cache)
+            throws IOException {
+        ConversionServer conversion = new ConversionServer(HttpServer.create(address, 1024), executor, cache);
+        conversion.server.createContext("/convert", conversion::convert);
+        conversion.server.createContext("/metrics", conversion::metrics);
+        conversion.server.setExecutor(executor);
+        conversion.server.start();
+        return conversion;
+    }
+
+    public static ExecutorService executor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.max(16, 4 * Runtime.getRuntime().availableProcessors()));
+        }
+    }
+
+    public InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    public ParseCache cache() {
+        return cache;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    private void convert(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                error(exchange, 405, "Method not allowed", List.of());
+                return;
+            }
+
+            Map<String, String> parameters = parameters(exchange.getRequestURI().getRawQuery());
+            BinaryFormat binaryFormat;
+            JsonFormat jsonFormat;
+            PathQuery query;
+            String variant;
+            try {
+                binaryFormat = binaryFormat(parameters.getOrDefault("format", "utf8"));
+                jsonFormat = jsonFormat(parameters);
+                query = parameters.containsKey("query") ? PathQuery.compile(parameters.get("query")) : null;
+                variant = binaryFormat + " " + jsonFormat + (query != null ? " " + parameters.get("query") : "");
+            } catch (IllegalArgumentException e) {
+                error(exchange, 400, "Bad parameters", List.of(String.valueOf(e.getMessage())));
+                return;
+            }
+
+            PooledBuffer input = buffers.acquire();
+            PooledBuffer output = buffers.acquire();
+            try {
+                if (!input.readFrom(exchange.getRequestBody(), MAX_BODY_SIZE)) {
+                    error(exchange, 413, "Body is larger than " + MAX_BODY_SIZE + " bytes", List.of());
+                    return;
+                }
+
+                Document document = Metrics.global().start("http", input.size());
+                ByteBuffer cached = cache != null ? cache.get(input.asByteBuffer(), variant) : null;
+                if (cached != null) {
+                    document.end(true);
+                    exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+                    exchange.sendResponseHeaders(200, cached.remaining());
+                    Channels.newChannel(exchange.getResponseBody()).write(cached);
+                    return;
+                }
+
+                Diagnostics diagnostics = Diagnostics.of(LIMIT_ERROR_MESSAGES);
+                if (!document.end(convert(ByteInput.of(input.asByteBuffer()), query, output, binaryFormat, jsonFormat,
+                        diagnostics, document))) {
+                    error(exchange, 400, "Invalid bencode", diagnostics.hasErrors()
+                            ? diagnostics.diagnostics().stream().map(Diagnostic::message).toList()
+                            : List.of("Empty input"));
+                    return;
+                }
+
+                if (cache != null) cache.put(input.asByteBuffer(), variant, output.toByteArray());
+
+                exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+                exchange.sendResponseHeaders(200, output.size());
+                output.writeTo(exchange.getResponseBody());
+            } finally {
+                buffers.release(input);
+                buffers.release(output);
+            }
+        }
+    }
+
+    private static boolean convert(ByteInput input, PathQuery query, OutputStream out,
+                                   BinaryFormat binaryFormat, JsonFormat jsonFormat,
+                                   ErrorReporter reporter, Document document) throws IOException {
+        if (query == null) {
+            boolean valid = Transcoder.transcode(input, out, binaryFormat, jsonFormat, reporter);
+            document.stage(Stage.TRANSCODE, 0, valid);
+            return valid;
+        }
+
+        List<Expr> results = query.evaluate(input, reporter);
+        document.stage(Stage.QUERY, results == null ? 0 : results.size(), results != null);
+        if (results == null) return false;
+
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        JsonPrinter.print(results, writer, binaryFormat, jsonFormat);
+        writer.flush();
+        document.stage(Stage.PRINT, results.size());
+        return true;
+    }
+
+    private void metrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                error(exchange, 405, "Method not allowed", List.of());
+                return;
+            }
+
+            Metrics metrics = Metrics.global();
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            JsonWriter writer = JsonWriter.of(body, BinaryFormat.UTF8, JsonFormat.COMPACT);
+            writer.startDict();
+            writer.key("documents");
+            writer.integer(metrics.documents());
+            writer.key("failed");
+            writer.integer(metrics.failed());
+            writer.key("stages");
+            writer.startDict();
+            for (Stage stage : Stage.values()) {
+                StageMetrics stageMetrics = metrics.stage(stage);
+                writer.key(stage.name().toLowerCase());
+                writer.startDict();
+                field(writer, "count", stageMetrics.getCount());
+                field(writer, "errors", stageMetrics.getErrors());
+                field(writer, "bytes", stageMetrics.getBytes());
+                field(writer, "items", stageMetrics.getItems());
+                field(writer, "bytesPerSecond", (long) stageMetrics.getBytesPerSecond());
+                field(writer, "p50Nanos", stageMetrics.latency().percentile(50));
+                field(writer, "p99Nanos", stageMetrics.latency().percentile(99));
+                field(writer, "p999Nanos", stageMetrics.latency().percentile(99.9));
+                field(writer, "maxNanos", stageMetrics.latency().max());
+                writer.end();
+            }
+            writer.end();
+            if (cache != null) {
+                writer.key("cache");
+                writer.startDict();
+                field(writer, "hits", cache.getHits());
+                field(writer, "misses", cache.getMisses());
+                field(writer, "evictions", cache.getEvictions());
+                field(writer, "entries", cache.getEntries());
+                field(writer, "bytes", cache.getBytes());
+                field(writer, "maxBytes", cache.getMaxBytes());
+                writer.end();
+            }
+            writer.end();
+            writer.flush();
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.size());
+            body.writeTo(exchange.getResponseBody());
+        }
+    }
+
+    private static void field(JsonWriter writer, String key, long value) {
+        writer.key(key);
+        writer.integer(value);
+    }
+
+    private static void error(HttpExchange exchange, int status, String error, List<String> messages) throws IOException {
+        StringBuilder json = new StringBuilder("{\"status\": ").append(status)
+                .append(", \"error\": ").append(quote(error))
+                .append(", \"messages\": [");
+        for (int i = 0; i < messages.size(); i++) json.append(i > 0 ? ", " : "").append(quote(messages.get(i)));
+        byte[] body = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    private static String quote(String str) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : str.toCharArray()) {
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                default -> {
+                    if (c < ' ') quoted.append("\\u%04x".formatted((int) c));
+                    else quoted.append(c);
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static BinaryFormat binaryFormat(String name) {
+        for (BinaryFormat format : BinaryFormat.values()) {
+            if (format.name().equalsIgnoreCase(name)) return format;
+        }
+        throw new IllegalArgumentException("Unknown format " + name + ", expected utf8, hex or base64");
+    }
+
+    private static JsonFormat jsonFormat(Map<String, String> parameters) {
+        if (Boolean.parseBoolean(parameters.get("compact"))) return JsonFormat.COMPACT;
+
+        String indent = parameters.get("indent");
+        if (indent == null) return JsonFormat.PRETTY;
+        try {
+            return JsonFormat.pretty(Integer.parseInt(indent));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Bad indent " + indent + ", expected a non-negative integer");
+        }
+    }
+
+    private static Map<String, String> parameters(String query) {
+        Map<String, String> parameters = new HashMap<>();
+        if (query == null) return parameters;
+
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator < 0) continue;
+            parameters.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+}
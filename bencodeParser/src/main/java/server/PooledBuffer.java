@@ -0,0 +1,35 @@
+package server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+class PooledBuffer extends ByteArrayOutputStream {
+
+    PooledBuffer(int size) {
+        super(size);
+    }
+
+    boolean readFrom(InputStream in, int limit) throws IOException {
+        int n;
+        do {
+            if (count == buf.length) {
+                if (count >= limit) return in.read() == -1;
+                buf = Arrays.copyOf(buf, (int) Math.min((long) count * 2, limit));
+            }
+            n = in.read(buf, count, buf.length - count);
+            if (n > 0) count += n;
+        } while (n != -1);
+        return true;
+    }
+
+    ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(buf, 0, count);
+    }
+
+    int capacity() {
+        return buf.length;
+    }
+}
@@ -2,11 +2,17 @@ import error.Reporter;
 import printer.JsonPrinter;
 import lexer.Lexer;
 import org.junit.jupiter.api.Test;
+import lexer.ByteInput;
+import parser.BencodeReader;
 import parser.Expr;
 import parser.Parser;
+import printer.JsonWriter;
 
 import java.io.BufferedReader;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,6 +28,13 @@ class JsonPrinterTest {
         return expressions == null ? null : JsonPrinter.print(expressions);
     }
 
+    private String getStreamedJsonText(String text) {
+        StringWriter out = new StringWriter();
+        ByteInput input = ByteInput.of(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)));
+
+        return BencodeReader.parse(input, JsonWriter.of(out), new Reporter(10)) ? out.toString() : null;
+    }
+
     @Test
     public void oneString() {
         assertEquals("\"qwerty\"", getJsonText("6:qwerty"));
@@ -32,6 +45,12 @@ class JsonPrinterTest {
         assertEquals("456", getJsonText("i456e"));
     }
 
+    @Test
+    public void longNumbers() {
+        assertEquals("[8589934592, -123456789012345678901234567890]",
+                getJsonText("l i8589934592e i-123456789012345678901234567890e e"));
+    }
+
     @Test
     public void emptyDictionary() {
         String output = """
@@ -147,4 +166,19 @@ class JsonPrinterTest {
 
         assertEquals(output, getJsonText(input));
     }
+
+    @Test
+    public void streamedOutputMatchesPrinter() {
+        String input = """
+                d
+                4:adas i6e
+                3:fgh l l i435e 5:qwert d 2:gt i12e 4:vfrd 2:rt e i78e e e
+                6:kjftgy d e
+                3:vfd l 4:dfgg d 3:kds i345e e i45e e
+                e
+                i5e l e
+                """;
+
+        assertEquals(getJsonText(input), getStreamedJsonText(input));
+    }
 }
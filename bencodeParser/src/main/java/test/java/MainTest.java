@@ -0,0 +1,33 @@
+import cache.ParseCache;
+import lexer.ByteInput;
+import org.junit.jupiter.api.Test;
+import printer.BinaryFormat;
+import printer.JsonFormat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MainTest {
+
+    @Test
+    public void cachedInterpret() {
+        ParseCache cache = ParseCache.of(1 << 20);
+        byte[] input = "d 4:name 5:a.iso 4:size i5e e".getBytes(StandardCharsets.US_ASCII);
+        StringBuilder first = new StringBuilder();
+        StringBuilder second = new StringBuilder();
+
+        assertTrue(Main.interpret(ByteInput.of(ByteBuffer.wrap(input)), 10, first, BinaryFormat.UTF8, JsonFormat.PRETTY,
+                cache));
+        assertTrue(Main.interpret(ByteInput.of(ByteBuffer.wrap(input)), 10, second, BinaryFormat.UTF8, JsonFormat.PRETTY,
+                cache));
+        assertFalse(Main.interpret(ByteInput.of(ByteBuffer.wrap(new byte[]{'d'})), 10, new StringBuilder(),
+                BinaryFormat.UTF8, JsonFormat.PRETTY, cache));
+
+        assertEquals("{\n \"name\": \"a.iso\",\n \"size\": 5\n}", first.toString());
+        assertEquals(first.toString(), second.toString());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getEntries());
+    }
+}
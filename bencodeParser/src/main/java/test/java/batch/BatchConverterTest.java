@@ -0,0 +1,185 @@
+package batch;
+
+import cache.ParseCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import printer.BinaryFormat;
+import printer.JsonFormat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchConverterTest {
+
+    @TempDir
+    Path directory;
+
+    private List<Path> files(int count) throws Exception {
+        List<Path> paths = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Path path = directory.resolve("%03d.torrent".formatted(i));
+            Files.writeString(path, "d3:agei%de4:name5:a.isoe".formatted(i));
+            paths.add(path);
+        }
+        return paths;
+    }
+
+    @Test
+    void orderedOutputFollowsInput() throws Exception {
+        List<Path> paths = files(50);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BatchConverter.Summary summary = BatchConverter.of(4, 64, true, null, BinaryFormat.UTF8, 10)
+                .convert(paths, out);
+
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 50; i++)
+            expected.append("{\n \"age\": %d,\n \"name\": \"a.iso\"\n}\n".formatted(i));
+
+        assertEquals(expected.toString(), out.toString(StandardCharsets.UTF_8));
+        assertEquals(50, summary.files());
+        assertEquals(0, summary.failed());
+    }
+
+    @Test
+    void unorderedOutputContainsEveryFile() throws Exception {
+        List<Path> paths = files(20);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BatchConverter.of(3, 1 << 20, false, null, BinaryFormat.UTF8, 10).convert(paths, out);
+
+        String json = out.toString(StandardCharsets.UTF_8);
+        for (int i = 0; i < 20; i++) assertTrue(json.contains("\"age\": %d,".formatted(i)));
+    }
+
+    @Test
+    void duplicateFilesAreConvertedOnce() throws Exception {
+        List<Path> paths = files(3);
+        paths.addAll(files(3));
+        ParseCache cache = ParseCache.of(1 << 20);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BatchConverter.Summary summary = BatchConverter.of(1, 1 << 20, true, null, BinaryFormat.UTF8, JsonFormat.PRETTY, 10, cache)
+                .convert(paths, out);
+
+        assertEquals(6, summary.files());
+        assertEquals(3, cache.getHits());
+        assertEquals(3, cache.getMisses());
+        String json = out.toString(StandardCharsets.UTF_8);
+        assertEquals(json.substring(0, json.length() / 2), json.substring(json.length() / 2));
+    }
+
+    @Test
+    void jsonFormatIsApplied() throws Exception {
+        List<Path> paths = files(2);
+        ParseCache cache = ParseCache.of(1 << 20);
+        ByteArrayOutputStream compact = new ByteArrayOutputStream();
+        ByteArrayOutputStream indented = new ByteArrayOutputStream();
+
+        BatchConverter.of(2, 1 << 20, true, null, BinaryFormat.UTF8, JsonFormat.COMPACT, 10, cache)
+                .convert(paths, compact);
+        BatchConverter.of(2, 1 << 20, true, null, BinaryFormat.UTF8, JsonFormat.pretty(4), 10, cache)
+                .convert(paths, indented);
+
+        assertEquals("{\"age\":0,\"name\":\"a.iso\"}\n{\"age\":1,\"name\":\"a.iso\"}\n",
+                compact.toString(StandardCharsets.UTF_8));
+        assertTrue(indented.toString(StandardCharsets.UTF_8).startsWith("{\n    \"age\": 0,\n    \"name\""));
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    void failedFilesAreCounted() throws Exception {
+        List<Path> paths = files(2);
+        Path bad = directory.resolve("bad.torrent");
+        Files.writeString(bad, "d3:age");
+        paths.add(1, bad);
+        paths.add(directory.resolve("missing.torrent"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BatchConverter.Summary summary = BatchConverter.of(2, 1 << 20, true, null, BinaryFormat.UTF8, 10)
+                .convert(paths, out);
+
+        assertEquals(4, summary.files());
+        assertEquals(2, summary.failed());
+        assertEquals("""
+                {
+                 "age": 0,
+                 "name": "a.iso"
+                }
+                {
+                 "age": 1,
+                 "name": "a.iso"
+                }
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void unreadableFilesReleaseTheirBudget() throws Exception {
+        List<Path> paths = new ArrayList<>();
+        for (Path file : files(5)) {
+            paths.add(file);
+            paths.add(Files.createDirectory(directory.resolve(file.getFileName() + ".dir")));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BatchConverter.Summary summary = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> BatchConverter.of(2, 64, true, null, BinaryFormat.UTF8, 10).convert(paths, out));
+
+        assertEquals(10, summary.files());
+        assertEquals(5, summary.failed());
+        assertEquals(5, out.toString(StandardCharsets.UTF_8).split("\n}\n").length);
+    }
+
+    @Test
+    void sameNamesInOutputDirectoryAreRejected() throws Exception {
+        Path first = Files.createDirectory(directory.resolve("a"));
+        Path second = Files.createDirectory(directory.resolve("b"));
+        Files.writeString(first.resolve("x.torrent"), "i1e");
+        Files.writeString(second.resolve("x.torrent"), "i2e");
+        Path target = Files.createDirectory(directory.resolve("json"));
+
+        BatchConverter converter = BatchConverter.of(2, 1 << 20, false, target, BinaryFormat.UTF8, 10);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> converter.convert(
+                List.of(first.resolve("x.torrent"), second.resolve("x.torrent")), new ByteArrayOutputStream()));
+
+        assertTrue(e.getMessage().contains("x.torrent.json"));
+        try (Stream<Path> written = Files.list(target)) {
+            assertEquals(0, written.count());
+        }
+    }
+
+    @Test
+    void outputDirectory() throws Exception {
+        List<Path> paths = files(3);
+        Path target = Files.createDirectory(directory.resolve("json"));
+
+        BatchConverter.of(2, 1 << 20, false, target, BinaryFormat.UTF8, 10)
+                .convert(paths, new ByteArrayOutputStream());
+
+        assertEquals("{\n \"age\": 2,\n \"name\": \"a.iso\"\n}", Files.readString(target.resolve("002.torrent.json")));
+    }
+
+    @Test
+    void expandInputs() throws Exception {
+        List<Path> paths = files(3);
+        Path nested = Files.createDirectory(directory.resolve("nested"));
+        Files.writeString(nested.resolve("x.torrent"), "i1e");
+        Files.writeString(nested.resolve("x.txt"), "i1e");
+        Path list = directory.resolve("list.txt");
+        Files.writeString(list, paths.get(2) + "\n\n" + paths.get(0) + "\n");
+
+        assertEquals(List.of(paths.get(2), paths.get(0)), BatchConverter.expand(List.of("@" + list)));
+        assertEquals(List.of(nested.resolve("x.torrent"), nested.resolve("x.txt")),
+                BatchConverter.expand(List.of(nested.toString())));
+        assertEquals(List.of(paths.get(0), paths.get(1), paths.get(2), nested.resolve("x.torrent")),
+                BatchConverter.expand(List.of(directory + "/**.torrent")));
+    }
+}
@@ -0,0 +1,150 @@
+package cache;
+
+import error.Reporter;
+import lexer.ByteInput;
+import org.junit.jupiter.api.Test;
+import printer.BinaryFormat;
+import printer.JsonFormat;
+import printer.Transcoder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParseCacheTest {
+
+    private static ByteBuffer buffer(String str) {
+        return ByteBuffer.wrap(str.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static byte[] bytes(String str) {
+        return str.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static ByteBuffer convert(ParseCache cache, byte[] input) {
+        String variant = BinaryFormat.UTF8 + " " + JsonFormat.PRETTY;
+        ByteBuffer output = cache.get(ByteBuffer.wrap(input), variant);
+        if (output != null) return output;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!Transcoder.transcode(ByteInput.of(ByteBuffer.wrap(input)), out, new Reporter(10))) return null;
+        cache.put(ByteBuffer.wrap(input), variant, out.toByteArray());
+        return ByteBuffer.wrap(out.toByteArray());
+    }
+
+    @Test
+    public void hitAfterPut() {
+        ParseCache cache = ParseCache.of(1 << 20);
+        assertNull(cache.get(buffer("i1e"), "json"));
+
+        cache.put(buffer("i1e"), "json", bytes("1"));
+        assertEquals(buffer("1"), cache.get(buffer("i1e"), "json"));
+        assertNull(cache.get(buffer("i2e"), "json"));
+        assertNull(cache.get(buffer("i1e"), "compact"));
+
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getMisses());
+        assertEquals(0.25, cache.getHitRate());
+        assertEquals(1, cache.getEntries());
+    }
+
+    @Test
+    public void entryCannotBeChangedThroughResult() {
+        ParseCache cache = ParseCache.of(1 << 20);
+        cache.put(buffer("i42e"), "json", bytes("42"));
+
+        ByteBuffer hit = cache.get(buffer("i42e"), "json");
+        assertTrue(hit.isReadOnly());
+        assertThrows(ReadOnlyBufferException.class, () -> hit.put(0, (byte) 'x'));
+        hit.get();
+
+        assertEquals(buffer("42"), cache.get(buffer("i42e"), "json"));
+    }
+
+    @Test
+    public void keyIsContentNotPosition() {
+        ParseCache cache = ParseCache.of(1 << 20);
+        ByteBuffer input = buffer("xxi42e").position(2);
+        cache.put(input, "json", bytes("42"));
+
+        assertEquals(2, input.position());
+        assertEquals(buffer("42"), cache.get(buffer("i42e"), "json"));
+        assertEquals(ParseCache.hash(buffer("i42e")), ParseCache.hash(input));
+        assertNotEquals(ParseCache.hash(buffer("i42e")), ParseCache.hash(buffer("i43e")));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        ParseCache cache = ParseCache.of(3 * (128 + 16));
+        for (String key : List.of("i10000000e", "i20000000e", "i30000000e")) cache.put(buffer(key), "json", new byte[6]);
+        assertEquals(3, cache.getEntries());
+
+        assertNotNull(cache.get(buffer("i10000000e"), "json"));
+        cache.put(buffer("i40000000e"), "json", new byte[6]);
+
+        assertEquals(1, cache.getEvictions());
+        assertEquals(3 * (128 + 16), cache.getBytes());
+        assertNotNull(cache.get(buffer("i10000000e"), "json"));
+        assertNull(cache.get(buffer("i20000000e"), "json"));
+        assertNotNull(cache.get(buffer("i40000000e"), "json"));
+    }
+
+    @Test
+    public void entriesLargerThanCacheAreSkipped() {
+        ParseCache cache = ParseCache.of(200);
+        cache.put(buffer("i1e"), "json", new byte[100]);
+
+        assertEquals(0, cache.getEntries());
+        assertEquals(0, cache.getBytes());
+        assertThrows(IllegalArgumentException.class, () -> ParseCache.of(0));
+    }
+
+    @Test
+    public void concurrentAccess() throws Exception {
+        ParseCache cache = ParseCache.of(64 << 20);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        String input = "i" + i % 500 + "e";
+                        ByteBuffer output = cache.get(buffer(input), "json");
+                        if (output == null) cache.put(buffer(input), "json", bytes(String.valueOf(i % 500)));
+                        else assertEquals(String.valueOf(i % 500), StandardCharsets.US_ASCII.decode(output).toString());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(500, cache.getEntries());
+        assertEquals(16000, cache.getHits() + cache.getMisses());
+        assertTrue(cache.getHits() >= 16000 - 8 * 500);
+    }
+
+    @Test
+    public void convertedOutputIsReused() {
+        ParseCache cache = ParseCache.of(1 << 20);
+        byte[] input = bytes("d 4:name 5:a.iso 4:size i5e e");
+
+        ByteBuffer first = convert(cache, input);
+        ByteBuffer second = convert(cache, input);
+        assertNull(convert(cache, new byte[]{'d'}));
+
+        assertEquals(buffer("{\n \"name\": \"a.iso\",\n \"size\": 5\n}"), first);
+        assertEquals(first, second);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getEntries());
+    }
+}
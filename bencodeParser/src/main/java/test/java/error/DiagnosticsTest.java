@@ -0,0 +1,93 @@
+package error;
+
+import lexer.ByteInput;
+import lexer.ByteLexer;
+import lexer.Lexer;
+import lexer.TokenType;
+import org.junit.jupiter.api.Test;
+import parser.BencodeReader;
+import parser.Parser;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DiagnosticsTest {
+
+    private static ByteInput input(String text) {
+        return ByteInput.of(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    public void structuredByteErrors() {
+        Diagnostics diagnostics = Diagnostics.of(10);
+
+        assertNull(BencodeReader.parse(input("d 3:abc i12x e"), diagnostics));
+        Diagnostic diagnostic = diagnostics.first();
+
+        assertEquals(1, diagnostics.count());
+        assertEquals(Diagnostic.Code.EXPECTED_NUMBER, diagnostic.code());
+        assertEquals(11, diagnostic.offset());
+        assertEquals('x', diagnostic.actual());
+        assertEquals("Expected number 'x' at offset 11", diagnostic.message());
+    }
+
+    @Test
+    public void structuredTokenErrors() {
+        Diagnostics diagnostics = Diagnostics.of(10);
+
+        assertNull(BencodeReader.parse(input("d 3:abc i1e 2:ab i2e e"), diagnostics));
+        Diagnostic diagnostic = diagnostics.first();
+
+        assertEquals(Diagnostic.Code.WRONG_KEY_ORDER, diagnostic.code());
+        assertEquals(List.of(TokenType.STRING), diagnostic.expected());
+        assertEquals(TokenType.STRING, diagnostic.found());
+        assertTrue(diagnostic.message().startsWith("Wrong key order\nOffset: "));
+
+        diagnostics.clear();
+        assertNull(Parser.parse(ByteLexer.tokenize(input("l i1e"), diagnostics), diagnostics));
+        assertEquals(Diagnostic.Code.NO_END, diagnostics.first().code());
+        assertEquals(0, diagnostics.first().offset());
+    }
+
+    @Test
+    public void lineErrorsKeepSource() {
+        Diagnostics diagnostics = Diagnostics.of(10);
+
+        assertNull(Lexer.scan(new BufferedReader(new StringReader("i1e\ni12")), diagnostics));
+        Diagnostic diagnostic = diagnostics.first();
+
+        assertEquals(Diagnostic.Code.EXPECTED_END, diagnostic.code());
+        assertEquals(2, diagnostic.line());
+        assertEquals("Expected 'e' after char '2' at line 2:\ni12\n  ^--- here\n", diagnostic.message());
+    }
+
+    @Test
+    public void boundedCollection() {
+        Diagnostics diagnostics = Diagnostics.of(3);
+
+        assertNull(ByteLexer.scan(input("i1e ! ? # $ %"), diagnostics));
+        assertEquals(3, diagnostics.count());
+        assertEquals(3, diagnostics.diagnostics().size());
+        assertTrue(diagnostics.diagnostics().stream().allMatch(d -> d.code() == Diagnostic.Code.UNKNOWN));
+
+        assertFalse(diagnostics.report("one more"));
+        assertEquals(4, diagnostics.count());
+        assertEquals(3, diagnostics.diagnostics().size());
+        assertTrue(diagnostics.toString().endsWith("... and 1 more\n"));
+    }
+
+    @Test
+    public void failFast() {
+        Diagnostics diagnostics = Diagnostics.failFast();
+
+        assertNull(ByteLexer.scan(input("! ? #"), diagnostics));
+        assertEquals(1, diagnostics.count());
+        assertEquals(0, diagnostics.first().offset());
+        assertEquals("Unknown '!' at offset 0\n", diagnostics.toString());
+    }
+}
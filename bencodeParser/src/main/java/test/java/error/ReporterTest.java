@@ -0,0 +1,63 @@
+package error;
+
+import lexer.Lexer;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReporterTest {
+
+    @Test
+    public void printsToStandardErrorByDefault() {
+        PrintStream err = System.err;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(captured, true, StandardCharsets.UTF_8));
+        try {
+            Reporter reporter = new Reporter(10);
+            assertTrue(reporter.report("first"));
+            assertTrue(reporter.report(Diagnostic.of("second")));
+        } finally {
+            System.setErr(err);
+        }
+
+        assertEquals("first" + System.lineSeparator() + "second" + System.lineSeparator(),
+                captured.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void countsEveryErrorButPrintsOnlyUpToLimit() {
+        List<String> messages = new ArrayList<>();
+        Reporter reporter = new Reporter(2, messages::add);
+
+        assertFalse(reporter.hasErrors());
+        assertTrue(reporter.report("first"));
+        assertFalse(reporter.report(Diagnostic.of("second")));
+        assertFalse(reporter.report("third"));
+
+        assertTrue(reporter.hasErrors());
+        assertEquals(3, reporter.getNumberErrors());
+        assertEquals(List.of("first", "second"), messages);
+    }
+
+    @Test
+    public void lexerStopsAtLimit() {
+        List<String> messages = new ArrayList<>();
+        Reporter reporter = new Reporter(2, messages::add);
+
+        assertNull(Lexer.scan(new BufferedReader(new StringReader("! ? # $")), reporter));
+        assertEquals(2, reporter.getNumberErrors());
+        assertEquals(2, messages.size());
+
+        reporter.report(Diagnostic.of("late"));
+        assertEquals(3, reporter.getNumberErrors());
+        assertEquals(2, messages.size());
+    }
+}
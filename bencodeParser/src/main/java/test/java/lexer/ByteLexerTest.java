@@ -0,0 +1,190 @@
+package lexer;
+
+import error.Reporter;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import parser.BencodeReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ByteLexerTest {
+
+    private List<Token> getTokens(String text) {
+        return ByteLexer.scan(new ByteArrayInputStream(text.getBytes(StandardCharsets.ISO_8859_1)), new Reporter(10));
+    }
+
+    private List<TokenType> getTokenTypes(String text) {
+        List<Token> tokens = getTokens(text);
+        return tokens == null ? null : tokens.stream().map(Token::tokenType).toList();
+    }
+
+    private static void assertTypes(List<TokenType> types, TokenType... expected) {
+        MatcherAssert.assertThat(types, is(List.of(expected)));
+    }
+
+    @Test
+    public void emptyData() {
+        assertNull(getTokenTypes(""));
+    }
+
+    @Test
+    public void unknownChar() {
+        assertNull(getTokenTypes("f l x i34e 3:qwe e"));
+    }
+
+    @Test
+    public void noTypeEndInNumber() {
+        assertNull(getTokenTypes("i45"));
+        assertNull(getTokenTypes("i"));
+    }
+
+    @Test
+    public void emptyNumber() {
+        assertNull(getTokenTypes("ie"));
+        assertNull(getTokenTypes("i-e"));
+    }
+
+    @Test
+    public void noColonInString() {
+        assertNull(getTokenTypes("45bgf"));
+        assertNull(getTokenTypes("45"));
+    }
+
+    @Test
+    public void missingCharsInString() {
+        assertNull(getTokenTypes("5:we"));
+        assertNull(getTokenTypes("45:"));
+    }
+
+    @Test
+    public void hugeStringLengthIsNotAllocated() {
+        byte[] bytes = "2147483647:abc".getBytes(StandardCharsets.US_ASCII);
+        List<String> messages = new ArrayList<>();
+
+        assertNull(ByteLexer.scan(new ByteArrayInputStream(bytes), new Reporter(10, messages::add)));
+        assertNull(ByteLexer.tokenize(ByteInput.of(new ByteArrayInputStream(bytes)), new Reporter(10, messages::add)));
+        assertNull(BencodeReader.parse(ByteInput.of(new ByteArrayInputStream(bytes)), new Reporter(10, messages::add)));
+
+        assertEquals(3, messages.size());
+        messages.forEach(message -> assertTrue(message.startsWith("Missing characters in string of length 2147483647"),
+                message));
+    }
+
+    @Test
+    public void NegativeNumber() {
+        List<Token> tokens = getTokens("i-34e");
+        assertNotNull(tokens);
+        assertEquals(-34, tokens.get(0).number());
+    }
+
+    @Test
+    public void longNumbers() {
+        List<Token> tokens = getTokens("i4294967296e i-9223372036854775808e i9223372036854775808e i-99999999999999999999e");
+        assertNotNull(tokens);
+        assertEquals(4294967296L, tokens.get(0).number());
+        assertEquals(Long.MIN_VALUE, tokens.get(1).number());
+        assertNull(tokens.get(1).value());
+        assertEquals(new BigInteger("9223372036854775808"), tokens.get(2).value());
+        assertEquals(new BigInteger("-99999999999999999999"), tokens.get(3).value());
+    }
+
+    @Test
+    public void longNumberBoundaries() {
+        String[] numbers = {"9223372036854775807", "9223372036854775808", "92233720368547758070", "92233720368547758080",
+                "-9223372036854775808", "-9223372036854775809", "-92233720368547758080", "-92233720368547758089"};
+        StringBuilder input = new StringBuilder();
+        for (String number : numbers) input.append('i').append(number).append("e ");
+        List<Token> tokens = getTokens(input.toString());
+        assertNotNull(tokens);
+
+        for (int i = 0; i < numbers.length; i++) {
+            BigInteger expected = new BigInteger(numbers[i]);
+            Token token = tokens.get(i);
+            assertEquals(expected, token.value() != null ? token.value() : BigInteger.valueOf(token.number()), numbers[i]);
+        }
+        assertNull(tokens.get(0).value());
+        assertNull(tokens.get(4).value());
+    }
+
+    @Test
+    public void newLineInString() {
+        List<Token> tokens = getTokens("5:qw\ner");
+        assertNotNull(tokens);
+        assertEquals("qw\ner", tokens.get(0).value().toString());
+    }
+
+    @Test
+    public void byteOffsets() {
+        List<Token> tokens = getTokens("d 3:qwe\ni34e e");
+        assertNotNull(tokens);
+        MatcherAssert.assertThat(tokens.stream().map(Token::pos).toList(), is(List.of(0L, 2L, 8L, 13L)));
+    }
+
+    @Test
+    public void sameTokensForAllSources() {
+        byte[] bytes = "d 3:qwe l i34e 2:rt e e".getBytes(StandardCharsets.US_ASCII);
+        List<Token> fromStream = ByteLexer.scan(new ByteArrayInputStream(bytes), new Reporter(10));
+        List<Token> fromChannel = ByteLexer.scan(Channels.newChannel(new ByteArrayInputStream(bytes)), new Reporter(10));
+        List<Token> fromBuffer = ByteLexer.scan(ByteBuffer.wrap(bytes), new Reporter(10));
+
+        assertEquals(fromStream, fromChannel);
+        assertEquals(fromStream, fromBuffer);
+    }
+
+    @Test
+    public void mappedFile(@TempDir Path dir) throws IOException {
+        Path file = Files.writeString(dir.resolve("a.torrent"), "d 4:name 5:a.iso 6:length i42e e");
+        List<Token> tokens = ByteLexer.scan(file, new Reporter(10));
+
+        assertNotNull(tokens);
+        assertEquals(ByteString.of("name"), tokens.get(1).value());
+        assertEquals("a.iso", tokens.get(2).value().toString());
+        assertEquals(9L, tokens.get(2).pos());
+    }
+
+    @Test
+    public void complexData() {
+        String str = """
+                d
+                4:adas i6e
+                3:fgh l l i435e 5:qwert
+                    d   2:gt i12e e
+                    i78e
+                    e
+                    e
+                e
+                """;
+        assertTypes(getTokenTypes(str), TokenType.DICTIONARY, TokenType.STRING, TokenType.INTEGER
+                , TokenType.STRING, TokenType.LIST, TokenType.LIST, TokenType.INTEGER, TokenType.STRING
+                , TokenType.DICTIONARY, TokenType.STRING, TokenType.INTEGER, TokenType.TYPE_END
+                , TokenType.INTEGER, TokenType.TYPE_END, TokenType.TYPE_END, TokenType.TYPE_END);
+    }
+
+    @Test
+    public void reusedLexer() {
+        ByteLexer lexer = ByteLexer.of();
+        String[] inputs = {"d1:ai1ee", "l x e", "i123456789012345678901234567890e", "4:spam"};
+
+        for (int round = 0; round < 2; round++) {
+            for (String input : inputs) {
+                ByteBuffer buffer = ByteBuffer.wrap(input.getBytes(StandardCharsets.US_ASCII));
+                List<Token> tokens = lexer.reset(buffer, new Reporter(10)).scan();
+                assertEquals(getTokens(input), tokens == null ? null : List.copyOf(tokens));
+            }
+        }
+        assertSame(ByteLexer.local(), ByteLexer.local());
+    }
+}
@@ -0,0 +1,44 @@
+package lexer;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteStringTest {
+
+    private static ByteString bytes(int... values) {
+        byte[] array = new byte[values.length];
+        for (int i = 0; i < values.length; i++) array[i] = (byte) values[i];
+        return ByteString.wrap(array);
+    }
+
+    @Test
+    public void utf8() {
+        assertTrue(ByteString.of("name").isUtf8());
+        assertTrue(ByteString.of("\u044f\u4e2d\ud83d\ude00").isUtf8());
+        assertFalse(bytes(0xff).isUtf8());
+        assertFalse(bytes(0xc0, 0x80).isUtf8());
+        assertFalse(bytes(0xed, 0xa0, 0x80).isUtf8());
+        assertFalse(bytes(0xe4, 0xb8).isUtf8());
+    }
+
+    @Test
+    public void unsignedOrder() {
+        assertTrue(ByteString.of("a").compareTo(ByteString.of("b")) < 0);
+        assertTrue(ByteString.of("ab").compareTo(ByteString.of("a")) > 0);
+        assertTrue(bytes(0x7f).compareTo(bytes(0x80)) < 0);
+        assertEquals(0, ByteString.of("qwe").compareTo(ByteString.of("qwe")));
+    }
+
+    @Test
+    public void sliceOfBuffer() {
+        ByteBuffer buffer = ByteBuffer.wrap("3:qwe".getBytes());
+        ByteString str = ByteString.slice(buffer, 2, 3);
+
+        assertEquals(ByteString.of("qwe"), str);
+        assertEquals("qwe", str.toString());
+        assertArrayEquals("qwe".getBytes(), str.toByteArray());
+    }
+}
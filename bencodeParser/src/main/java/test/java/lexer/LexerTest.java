@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.BufferedReader;
 import java.io.StringReader;
+import java.math.BigInteger;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -80,6 +81,16 @@ public class LexerTest {
         assertTypes(getTokenTypes("i-34e"), TokenType.INTEGER);
     }
 
+    @Test
+    public void longNumber() {
+        BufferedReader br = new BufferedReader(new StringReader("i8589934592e i-99999999999999999999e"));
+        List<Token> tokens = Lexer.scan(br, new Reporter(10));
+
+        assertNotNull(tokens);
+        assertEquals(8589934592L, tokens.get(0).number());
+        assertEquals(new BigInteger("-99999999999999999999"), tokens.get(1).value());
+    }
+
     @Test
     public void oneString() {
         assertTypes(getTokenTypes("3:qwe"), TokenType.STRING);
@@ -177,4 +188,15 @@ public class LexerTest {
                 , TokenType.TYPE_END, TokenType.STRING, TokenType.LIST, TokenType.STRING, TokenType.STRING
                 , TokenType.INTEGER, TokenType.TYPE_END, TokenType.TYPE_END);
     }
+
+    @Test
+    public void reusedLexer() {
+        Lexer lexer = Lexer.of();
+
+        for (String input : List.of("d1:ai1ee", "l\ni1e\ne", "l 1:a", "3:abc")) {
+            List<Token> tokens = lexer.reset(new BufferedReader(new StringReader(input)), new Reporter(10)).scan();
+            List<Token> expected = Lexer.scan(new BufferedReader(new StringReader(input)), new Reporter(10));
+            assertEquals(expected, tokens == null ? null : List.copyOf(tokens));
+        }
+    }
 }
@@ -0,0 +1,91 @@
+package lexer;
+
+import error.Reporter;
+import org.junit.jupiter.api.Test;
+import parser.Expr;
+import parser.Parser;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBufferTest {
+
+    private static final String INPUT = "d 4:adas i6e 3:fgh l l i435e 5:qwert d 2:gt i12e e i-78e e e "
+            + "6:kjftgy i123456789012345678901234567890e e";
+
+    private static ByteBuffer buffer(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static List<Token> tokens(TokenBuffer columns) {
+        List<Token> tokens = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) tokens.add(columns.token(i));
+        return tokens;
+    }
+
+    @Test
+    public void sameTokensAsList() {
+        List<Token> expected = ByteLexer.scan(buffer(INPUT), new Reporter(10));
+
+        assertEquals(expected, tokens(ByteLexer.tokenize(ByteInput.of(buffer(INPUT)), new Reporter(10))));
+        assertEquals(expected, tokens(ByteLexer.tokenize(
+                ByteInput.of(new ByteArrayInputStream(INPUT.getBytes(StandardCharsets.US_ASCII))), new Reporter(10))));
+    }
+
+    @Test
+    public void columns() {
+        TokenBuffer tokens = ByteLexer.tokenize(ByteInput.of(buffer("l 3:abc i-5e i99999999999999999999e e")), new Reporter(10));
+
+        assertNotNull(tokens);
+        assertEquals(5, tokens.size());
+        assertEquals(TokenType.LIST, tokens.type(0));
+        assertEquals(2, tokens.offset(1));
+        assertEquals(ByteString.of("abc"), tokens.string(1));
+        assertEquals("abc", tokens.text(1));
+        assertEquals(-5, tokens.number(2));
+        assertNull(tokens.bigNumber(2));
+        assertEquals(new BigInteger("99999999999999999999"), tokens.bigNumber(3));
+        assertEquals(TokenType.TYPE_END, tokens.type(4));
+    }
+
+    @Test
+    public void parserReadsColumns() {
+        List<Expr> expected = Parser.parse(ByteLexer.scan(buffer(INPUT), new Reporter(10)), new Reporter(10));
+
+        assertEquals(expected, Parser.parse(ByteLexer.tokenize(ByteInput.of(buffer(INPUT)), new Reporter(10)), new Reporter(10)));
+        assertNull(Parser.parse(ByteLexer.tokenize(ByteInput.of(buffer("d 1:b i1e 1:a i2e e")), new Reporter(10)), new Reporter(10)));
+    }
+
+    @Test
+    public void errors() {
+        Reporter reporter = new Reporter(10);
+        assertNull(ByteLexer.tokenize(ByteInput.of(buffer("l 5:abc")), reporter));
+        assertEquals(1, reporter.getNumberErrors());
+
+        assertNull(ByteLexer.tokenize(ByteInput.of(new ByteArrayInputStream(new byte[]{'5', ':', 'a'})), new Reporter(10)));
+        assertNull(ByteLexer.tokenize(ByteInput.of(buffer(" ")), new Reporter(10)));
+    }
+
+    @Test
+    public void reuseKeepsHandedOutStrings() {
+        ByteLexer lexer = ByteLexer.of();
+        ByteInput first = ByteInput.of(new ByteArrayInputStream("3:abc".getBytes(StandardCharsets.US_ASCII)));
+        TokenBuffer tokens = ByteLexer.tokenize(first, new Reporter(10));
+        assertNotNull(tokens);
+        ByteString abc = tokens.string(0);
+
+        tokens.clear();
+        assertTrue(tokens.addString(0, ByteInput.of(new ByteArrayInputStream("xyz".getBytes(StandardCharsets.US_ASCII))), 3));
+        assertEquals(ByteString.of("abc"), abc);
+        assertEquals(ByteString.of("xyz"), tokens.string(0));
+
+        assertEquals(2, lexer.reset(buffer("i1e i2e"), new Reporter(10)).tokenize().size());
+        assertEquals(2, lexer.reset(buffer("le"), new Reporter(10)).tokenize().size());
+    }
+}
@@ -0,0 +1,69 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTest {
+
+    @Test
+    public void documentsRecordStages() {
+        Metrics metrics = Metrics.of();
+        List<String> events = new ArrayList<>();
+        metrics.addSink(new MetricsSink() {
+            @Override
+            public void stage(Stage stage, long nanos, long bytes, long items, boolean success) {
+                events.add(stage + " " + bytes + " " + items + " " + success);
+            }
+
+            @Override
+            public void document(String mode, long nanos, long bytes, boolean success) {
+                events.add(mode + " " + bytes + " " + success);
+            }
+        });
+
+        Document document = metrics.start("test", 100);
+        document.stage(Stage.LEX, 10);
+        document.stage(Stage.PARSE, 7);
+        document.stage(Stage.PRINT, 7);
+        assertTrue(document.end(true));
+
+        Document failed = metrics.start("test", 0).bytes(40);
+        failed.stage(Stage.LEX, 3, false);
+        assertFalse(failed.end(false));
+
+        assertEquals(List.of("LEX 100 10 true", "PARSE 100 7 true", "PRINT 100 7 true", "test 100 true",
+                "LEX 40 3 false", "test 40 false"), events);
+        assertEquals(2, metrics.documents());
+        assertEquals(1, metrics.failed());
+
+        StageMetrics lex = metrics.stage(Stage.LEX);
+        assertEquals(2, lex.getCount());
+        assertEquals(1, lex.getErrors());
+        assertEquals(140, lex.getBytes());
+        assertEquals(13, lex.getItems());
+        assertEquals(0, metrics.stage(Stage.TRANSCODE).getCount());
+        assertTrue(metrics.toString().startsWith("documents: 2, failed: 1\nlex: 2 calls, 1 errors, 140 bytes"));
+    }
+
+    @Test
+    public void registeredOverJmx() throws Exception {
+        Metrics metrics = Metrics.of();
+        metrics.start("test", 64).stage(Stage.TRANSCODE, 0);
+        metrics.register("bencode.test");
+        metrics.register("bencode.test");
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("bencode.test:type=Stage,name=transcode");
+        assertEquals(1L, server.getAttribute(name, "Count"));
+        assertEquals(64L, server.getAttribute(name, "Bytes"));
+        for (Stage stage : Stage.values())
+            server.unregisterMBean(new ObjectName("bencode.test:type=Stage,name=" + stage.name().toLowerCase()));
+    }
+}
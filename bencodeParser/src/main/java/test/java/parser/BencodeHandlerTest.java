@@ -0,0 +1,74 @@
+package parser;
+
+import error.Reporter;
+import lexer.ByteInput;
+import lexer.ByteString;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BencodeHandlerTest {
+
+    private static class EventLog implements BencodeHandler {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public boolean startDict() {
+            events.add("d");
+            return true;
+        }
+
+        @Override
+        public boolean startList() {
+            events.add("l");
+            return false;
+        }
+
+        @Override
+        public void key(ByteString key) {
+            events.add("key " + key);
+        }
+
+        @Override
+        public void integer(long value) {
+            events.add("int " + value);
+        }
+
+        @Override
+        public void bytes(ByteString value) {
+            events.add("str " + value);
+        }
+
+        @Override
+        public void end() {
+            events.add("e");
+        }
+    }
+
+    private static boolean parse(String text, BencodeHandler handler) {
+        ByteInput input = ByteInput.of(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)));
+        return BencodeReader.parse(input, handler, new Reporter(10));
+    }
+
+    @Test
+    public void events() {
+        EventLog log = new EventLog();
+
+        assertTrue(parse("d 5:files l i1e i2e e 6:length i7e 4:name 3:qwe e", log));
+        assertEquals(List.of("d", "key files", "l", "key length", "int 7", "key name", "str qwe", "e"), log.events);
+    }
+
+    @Test
+    public void invalidInput() {
+        assertFalse(parse("", new EventLog()));
+        assertFalse(parse("d 3:qwe i1e", new EventLog()));
+        assertFalse(parse("d i1e i2e e", new EventLog()));
+        assertFalse(parse("d 3:qwe i1e 3:asd i2e e", new EventLog()));
+        assertFalse(parse("d 3:qwe l i1e e", new EventLog()));
+    }
+}
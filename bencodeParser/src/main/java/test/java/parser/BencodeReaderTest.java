@@ -0,0 +1,168 @@
+package parser;
+
+import error.Diagnostic;
+import error.Reporter;
+import error.TranslateBencodeException;
+import lexer.ByteInput;
+import lexer.ByteString;
+import lexer.TokenType;
+import org.junit.jupiter.api.Test;
+import printer.BencodeEncoder;
+import query.PathQuery;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BencodeReaderTest {
+
+    private static ByteInput input(String text) {
+        return ByteInput.of(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static BencodeReader reader(String text) {
+        return BencodeReader.of(input(text));
+    }
+
+    private List<Expr> parse(String text) {
+        return BencodeReader.parse(input(text), new Reporter(10));
+    }
+
+    @Test
+    public void events() {
+        BencodeReader reader = reader("d 3:bar l i1e e 3:foo 3:baz e");
+
+        assertEquals(TokenType.DICTIONARY, reader.nextEvent());
+        assertEquals(ByteString.of("bar"), reader.readKey());
+        assertEquals(TokenType.LIST, reader.nextEvent());
+        assertEquals(2, reader.depth());
+        assertEquals(1, reader.readLong());
+        assertEquals(TokenType.TYPE_END, reader.nextEvent());
+        assertEquals(ByteString.of("foo"), reader.readKey());
+        assertEquals("baz", reader.readBytes().toString());
+        assertEquals(TokenType.TYPE_END, reader.nextEvent());
+        assertNull(reader.nextEvent());
+    }
+
+    @Test
+    public void skipValue() {
+        BencodeReader reader = reader("d 4:info d 5:files l d 1:a i1e e e e 4:name 3:qwe e");
+
+        reader.nextEvent();
+        assertEquals(ByteString.of("info"), reader.readKey());
+        reader.skipValue();
+        assertEquals(ByteString.of("name"), reader.readKey());
+        assertEquals("qwe", reader.readBytes().toString());
+    }
+
+    @Test
+    public void wrongKeyOrder() {
+        BencodeReader reader = reader("d 3:foo i1e 3:bar i2e e");
+
+        reader.nextEvent();
+        reader.readKey();
+        reader.readLong();
+        assertThrows(TranslateBencodeException.class, reader::readKey);
+    }
+
+    @Test
+    public void keyIsNotString() {
+        assertNull(parse("d i1e i2e e"));
+    }
+
+    @Test
+    public void noEndDictionary() {
+        assertNull(parse("d 3:qwe i1e"));
+        assertNull(parse("d 3:qwe e"));
+    }
+
+    @Test
+    public void noEndList() {
+        assertNull(parse("l 3:qwe"));
+        assertNull(parse("e"));
+    }
+
+    @Test
+    public void complexData() {
+        List<Expr> expressions = parse("d 4:adas i6e 3:fgh l l i435e 5:qwert d 2:gt i12e e i78e e e e i5e");
+
+        assertNotNull(expressions);
+        assertEquals(2, expressions.size());
+        Expr.Dictionary dictionary = (Expr.Dictionary) expressions.get(0);
+        assertEquals(new Expr.Number(6), dictionary.get("adas"));
+        assertInstanceOf(Expr.Array.class, dictionary.get("fgh"));
+        assertEquals(new Expr.Number(5), expressions.get(1));
+    }
+
+    @Test
+    public void binaryKeysAreNotMerged() {
+        byte[] input = "d1:\u00fei1e1:\u00ffi2ee".getBytes(StandardCharsets.ISO_8859_1);
+        List<Expr> expressions = BencodeReader.parse(ByteInput.of(ByteBuffer.wrap(input)), new Reporter(10));
+
+        assertNotNull(expressions);
+        Expr.Dictionary dictionary = (Expr.Dictionary) expressions.get(0);
+        assertEquals(new Expr.Number(1), dictionary.value().get(ByteString.wrap(new byte[]{(byte) 0xfe})));
+        assertEquals(new Expr.Number(2), dictionary.value().get(ByteString.wrap(new byte[]{(byte) 0xff})));
+        assertArrayEquals(input, BencodeEncoder.encode(expressions));
+    }
+
+    @Test
+    public void reusedReader() {
+        BencodeReader reader = BencodeReader.local();
+        String[] inputs = {"d1:ai1e1:bl1:xee", "d1:bi1e1:ai2ee", "l i1e", "d1:ai1e1:bi2ee", "i-5e 3:abc"};
+
+        for (String input : inputs) {
+            ByteBuffer buffer = ByteBuffer.wrap(input.getBytes(StandardCharsets.US_ASCII));
+            assertEquals(parse(input), reader.reset(buffer).readAll(new Reporter(10)));
+        }
+        assertThrows(IllegalStateException.class,
+                () -> BencodeReader.of(ByteInput.of(new ByteArrayInputStream(new byte[0]))).reset(ByteBuffer.allocate(0)));
+    }
+
+    @Test
+    public void deepNestingWithoutRecursion() {
+        int depth = 100_000;
+        List<Expr> expressions = parse("l".repeat(depth) + "e".repeat(depth));
+
+        assertNotNull(expressions);
+        Expr expr = expressions.get(0);
+        for (int i = 1; i < depth; i++) expr = ((Expr.Array) expr).value().get(0);
+        assertEquals(new Expr.Array(List.of()), expr);
+
+        assertNull(parse("d1:a".repeat(depth)));
+    }
+
+    @Test
+    public void deepSkipWithoutRecursion() {
+        int depth = 100_000;
+        String input = "d1:a" + "l".repeat(depth) + "d1:xi1ee" + "e".repeat(depth) + "1:bi1ee";
+        BencodeReader reader = reader(input);
+
+        reader.nextEvent();
+        assertEquals(ByteString.of("a"), reader.readKey());
+        reader.skipValue();
+        assertEquals(ByteString.of("b"), reader.readKey());
+        assertEquals(1, reader.readLong());
+
+        assertEquals(List.of(new Expr.Number(1)), PathQuery.compile("b").evaluate(input(input), new Reporter(10)));
+        assertNull(PathQuery.compile("b").evaluate(input("d1:a" + "l".repeat(depth) + "1:bi1ee"), new Reporter(10)));
+    }
+
+    @Test
+    public void readValueAtEndOfInput() {
+        TranslateBencodeException e = assertThrows(TranslateBencodeException.class, () -> reader("").readValue());
+
+        assertEquals(Diagnostic.Code.EXPECTED_VALUE, e.diagnostic().code());
+    }
+
+    @Test
+    public void errorsAreStackless() {
+        TranslateBencodeException e = assertThrows(TranslateBencodeException.class, () -> reader("i1x").readLong());
+
+        assertEquals(0, e.getStackTrace().length);
+        assertEquals("Expected number 'x' at offset 2", e.getMessage());
+    }
+}
@@ -0,0 +1,80 @@
+package parser;
+
+import error.Reporter;
+import lexer.ByteInput;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InfoHashTest {
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] digest(String algorithm, String info) throws Exception {
+        return MessageDigest.getInstance(algorithm).digest(bytes(info));
+    }
+
+    @Test
+    public void hashesExactInfoBytes() throws Exception {
+        String info = "d6:lengthi10e4:name3:qwe6:pieces4:\u00ff\u0000ab e";
+        byte[] input = ("d 8:announce 3:url 4:info  " + info + "  e").getBytes(StandardCharsets.ISO_8859_1);
+        InfoHash infoHash = InfoHash.parse(ByteInput.of(ByteBuffer.wrap(input)), new Reporter(10));
+
+        assertNotNull(infoHash);
+        byte[] raw = info.getBytes(StandardCharsets.ISO_8859_1);
+        assertArrayEquals(MessageDigest.getInstance("SHA-1").digest(raw), infoHash.digest(InfoHash.SHA1));
+        assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(raw), infoHash.digest(InfoHash.SHA256));
+        assertEquals(BencodeReader.parse(ByteInput.of(ByteBuffer.wrap(input)), new Reporter(10)), infoHash.expressions());
+    }
+
+    @Test
+    public void hashAcrossBufferRefills() throws Exception {
+        StringBuilder info = new StringBuilder("d5:filesl");
+        for (int i = 0; i < 20000; i++) info.append("d6:lengthi").append(i).append("ee");
+        info.append("e4:name3:qwee");
+        byte[] input = bytes("d8:announce3:url4:info" + info + "e");
+
+        InfoHash infoHash = InfoHash.parse(ByteInput.of(new ByteArrayInputStream(input)), new Reporter(10), InfoHash.SHA1);
+
+        assertNotNull(infoHash);
+        assertTrue(input.length > 1 << 17);
+        assertArrayEquals(digest("SHA-1", info.toString()), infoHash.digest(InfoHash.SHA1));
+        assertNull(infoHash.digest(InfoHash.SHA256));
+    }
+
+    @Test
+    public void hex() throws Exception {
+        InfoHash infoHash = InfoHash.parse(ByteInput.of(ByteBuffer.wrap(bytes("d4:infod1:ai1eee"))), new Reporter(10));
+
+        assertNotNull(infoHash);
+        StringBuilder expected = new StringBuilder();
+        for (byte b : digest("SHA-1", "d1:ai1ee")) expected.append("%02x".formatted(b));
+        assertEquals(expected.toString(), infoHash.hex(InfoHash.SHA1));
+    }
+
+    @Test
+    public void noInfoDictionary() {
+        InfoHash infoHash = InfoHash.parse(ByteInput.of(ByteBuffer.wrap(bytes("d4:infoi1e4:namei2ee"))), new Reporter(10));
+        assertNotNull(infoHash);
+        assertNull(infoHash.digest(InfoHash.SHA1));
+
+        infoHash = InfoHash.parse(ByteInput.of(ByteBuffer.wrap(bytes("l d4:infod1:ai1eee e"))), new Reporter(10));
+        assertNotNull(infoHash);
+        assertNull(infoHash.hex(InfoHash.SHA1));
+    }
+
+    @Test
+    public void errors() {
+        Reporter reporter = new Reporter(10);
+        assertNull(InfoHash.parse(ByteInput.of(ByteBuffer.wrap(bytes("d4:infod1:ai1e"))), reporter));
+        assertEquals(1, reporter.getNumberErrors());
+        assertNull(InfoHash.parse(ByteInput.of(ByteBuffer.wrap(bytes(""))), reporter));
+    }
+}
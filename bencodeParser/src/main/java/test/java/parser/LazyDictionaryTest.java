@@ -0,0 +1,72 @@
+package parser;
+
+import error.Reporter;
+import lexer.ByteInput;
+import lexer.ByteString;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyDictionaryTest {
+
+    private static ByteBuffer buffer(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static List<Expr> parse(String text) {
+        return LazyDictionary.parse(buffer(text), new Reporter(10));
+    }
+
+    @Test
+    public void lookup() {
+        List<Expr> expressions = parse("d 8:announce 3:url 4:info d 6:length i42e 4:name 3:qwe 6:pieces 4:abcd e e");
+        assertNotNull(expressions);
+
+        Map<ByteString, Expr> root = ((Expr.Dictionary) expressions.get(0)).value();
+        assertInstanceOf(LazyDictionary.class, root);
+        assertEquals(new Expr.Line(ByteString.of("url")), root.get(ByteString.of("announce")));
+
+        Map<ByteString, Expr> info = ((Expr.Dictionary) root.get(ByteString.of("info"))).value();
+        assertEquals(new Expr.Number(42), info.get(ByteString.of("length")));
+        assertEquals(new Expr.Line(ByteString.of("qwe")), info.get(ByteString.of("name")));
+        assertTrue(info.containsKey(ByteString.of("pieces")));
+        assertNull(info.get(ByteString.of("files")));
+        assertNull(info.get("length"));
+    }
+
+    @Test
+    public void valuesAreReadOnFirstAccess() {
+        byte[] bytes = "d1:ai1e1:bi2e1:cl1:xee".getBytes(StandardCharsets.US_ASCII);
+        List<Expr> expressions = LazyDictionary.parse(ByteBuffer.wrap(bytes), new Reporter(10));
+        assertNotNull(expressions);
+        Map<ByteString, Expr> root = ((Expr.Dictionary) expressions.get(0)).value();
+
+        assertEquals(new Expr.Number(1), root.get(ByteString.of("a")));
+        bytes[5] = '9';
+        bytes[11] = '7';
+        bytes[17] = 'x';
+
+        assertEquals(new Expr.Number(1), root.get(ByteString.of("a")));
+        assertEquals(new Expr.Number(7), root.get(ByteString.of("b")));
+        assertEquals(3, root.size());
+        assertThrows(IllegalStateException.class, () -> root.get(ByteString.of("c")));
+    }
+
+    @Test
+    public void sameTreeAsReader() {
+        String input = "d 4:adas i6e 3:fgh l l i435e 5:qwert d 2:gt i12e e i78e e e 6:kjftgy d 3:kds d e e e i5e";
+        assertEquals(BencodeReader.parse(ByteInput.of(buffer(input)), new Reporter(10)), parse(input));
+    }
+
+    @Test
+    public void invalidInput() {
+        assertNull(parse("d 3:qwe i1e"));
+        assertNull(parse("d 3:qwe d 1:b i1e 1:a i2e e e"));
+        assertNull(parse("d 3:qwe l i1e e"));
+    }
+}
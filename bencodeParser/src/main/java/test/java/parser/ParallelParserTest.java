@@ -0,0 +1,77 @@
+package parser;
+
+import error.Reporter;
+import lexer.ByteInput;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelParserTest {
+
+    private static final ParallelParser PARSER = ParallelParser.of(new ForkJoinPool(4), 1);
+
+    private static ByteBuffer buffer(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static void assertSameAsReader(String input) {
+        assertEquals(BencodeReader.parse(ByteInput.of(buffer(input)), new Reporter(10)),
+                PARSER.parse(buffer(input), new Reporter(10)));
+    }
+
+    @Test
+    public void listOfDictionaries() {
+        StringBuilder input = new StringBuilder("l");
+        for (int i = 0; i < 100; i++) input.append("d 6:length i").append(i).append("e 4:path l 1:a 1:b e e ");
+        assertSameAsReader(input.append("i5e 3:qwe l e e").toString());
+    }
+
+    @Test
+    public void dictionary() {
+        assertSameAsReader("d 4:adas i6e 3:fgh l l i435e 5:qwert d 2:gt i12e e i78e e e 6:kjftgy d e 1:z 3:qwe e");
+    }
+
+    @Test
+    public void topLevelValues() {
+        assertSameAsReader("d 4:adas i6e e i5e 3:qwe le l i1e i123456789012345678901234567890e e");
+        assertSameAsReader("l i1e e");
+        assertSameAsReader("le");
+        assertSameAsReader("de");
+    }
+
+    @Test
+    public void emptyInput() {
+        assertNull(PARSER.parse(buffer("  "), new Reporter(10)));
+    }
+
+    @Test
+    public void errors() {
+        Reporter reporter = new Reporter(10);
+        assertNull(PARSER.parse(buffer("l i1e d 1:b i1e 1:a i2e e i3e e"), reporter));
+        assertEquals(1, reporter.getNumberErrors());
+
+        assertNull(PARSER.parse(buffer("d 1:b i1e 1:a i2e e"), new Reporter(10)));
+        assertNull(PARSER.parse(buffer("d 1:b e"), new Reporter(10)));
+        assertNull(PARSER.parse(buffer("d i1e i2e e"), new Reporter(10)));
+        assertNull(PARSER.parse(buffer("l i1e l i2e e"), new Reporter(10)));
+        assertNull(PARSER.parse(buffer("l i1e x e"), new Reporter(10)));
+        assertNull(PARSER.parse(buffer("i1e e"), new Reporter(10)));
+    }
+
+    @Test
+    public void file(@TempDir Path directory) throws Exception {
+        String input = "l d 3:age i5e 4:name 5:a.iso e d 3:age i6e 4:name 5:b.iso e e";
+        Path path = directory.resolve("dump.torrent");
+        Files.writeString(path, input);
+
+        assertEquals(BencodeReader.parse(ByteInput.of(buffer(input)), new Reporter(10)),
+                PARSER.parse(path, new Reporter(10)));
+    }
+}
@@ -1,10 +1,19 @@
 package parser;
 
 import error.Reporter;
+import lexer.ByteInput;
+import lexer.ByteLexer;
 import lexer.Token;
+import lexer.TokenBuffer;
 import lexer.TokenType;
 import org.junit.jupiter.api.Test;
+import printer.BencodeEncoder;
+import printer.BinaryFormat;
+import printer.JsonFormat;
+import printer.JsonPrinter;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -24,6 +33,11 @@ class ParserTest {
         return Parser.parse(tokens, reporter);
     }
 
+    private TokenBuffer tokenize(String input) {
+        return ByteLexer.tokenize(ByteInput.of(ByteBuffer.wrap(input.getBytes(StandardCharsets.US_ASCII))),
+                new Reporter(10));
+    }
+
     private Token createToken(TokenType type, Object value) {
         return new Token(type, 0, 0, value);
     }
@@ -190,4 +204,55 @@ class ParserTest {
                              e
                 e*/
     }
+
+    @Test
+    public void deepNestingWithoutRecursion() {
+        int depth = 100_000;
+        List<Expr> expressions = Parser.parse(tokenize("l".repeat(depth) + "e".repeat(depth)), new Reporter(10));
+
+        assertNotNull(expressions);
+        Expr expr = expressions.get(0);
+        for (int i = 1; i < depth; i++) expr = ((Expr.Array) expr).value().get(0);
+        assertEquals(new Expr.Array(List.of()), expr);
+
+        StringBuilder json = new StringBuilder();
+        JsonPrinter.print(expressions, json, BinaryFormat.UTF8, JsonFormat.COMPACT);
+        assertEquals("[".repeat(depth) + "]".repeat(depth), json.toString());
+        assertArrayEquals(("l".repeat(depth) + "e".repeat(depth)).getBytes(StandardCharsets.US_ASCII),
+                BencodeEncoder.encode(expressions));
+
+        String dictionaries = "d1:a".repeat(depth) + "i1e" + "e".repeat(depth);
+        assertEquals(dictionaries, new String(BencodeEncoder.encode(Parser.parse(tokenize(dictionaries), new Reporter(10))),
+                StandardCharsets.US_ASCII));
+
+        assertNull(Parser.parse(tokenize("d1:a".repeat(depth)), new Reporter(10)));
+    }
+
+    @Test
+    public void binaryKeysAreComparedAsBytes() {
+        byte[] input = "d1:zi1e1:\u00fei2e1:\u00ffi3ee".getBytes(StandardCharsets.ISO_8859_1);
+        List<Expr> expressions = Parser.parse(ByteLexer.tokenize(ByteInput.of(ByteBuffer.wrap(input)), new Reporter(10)),
+                new Reporter(10));
+
+        assertNotNull(expressions);
+        assertEquals(3, ((Expr.Dictionary) expressions.get(0)).value().size());
+        assertArrayEquals(input, BencodeEncoder.encode(expressions));
+
+        byte[] unsorted = "d1:\u00ffi1e1:\u00fei2ee".getBytes(StandardCharsets.ISO_8859_1);
+        assertNull(Parser.parse(ByteLexer.tokenize(ByteInput.of(ByteBuffer.wrap(unsorted)), new Reporter(10)),
+                new Reporter(10)));
+    }
+
+    @Test
+    public void reusedParser() {
+        Parser parser = Parser.of();
+        List<Token> valid = List.of(createToken(TokenType.LIST, null), createToken(TokenType.INTEGER, 5L),
+                createToken(TokenType.TYPE_END, null));
+        List<Token> invalid = List.of(createToken(TokenType.LIST, null), createToken(TokenType.INTEGER, 5L));
+
+        assertEquals(getExpressionsWithTokens(valid), parser.reset(valid, new Reporter(10)).parse());
+        assertNull(parser.reset(invalid, new Reporter(10)).parse());
+        assertEquals(List.of(new Expr.Array(List.of(new Expr.Number(5)))), parser.reset(valid, new Reporter(10)).parse());
+        assertSame(Parser.local(), Parser.local());
+    }
 }
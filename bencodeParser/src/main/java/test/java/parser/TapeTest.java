@@ -0,0 +1,85 @@
+package parser;
+
+import error.Reporter;
+import lexer.ByteInput;
+import lexer.ByteString;
+import lexer.TokenType;
+import org.junit.jupiter.api.Test;
+import printer.BencodeEncoder;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TapeTest {
+
+    private static ByteBuffer buffer(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static Tape parse(String text) {
+        return Tape.parse(buffer(text), new Reporter(10));
+    }
+
+    @Test
+    public void navigation() {
+        Tape tape = parse("d 8:announce 3:url 4:info d 5:files l d 6:length i10e e d 6:length i20e e e 4:name 3:qwe e e");
+        assertNotNull(tape);
+
+        int root = tape.first();
+        assertEquals(TokenType.DICTIONARY, tape.type(root));
+        assertEquals(2, tape.childCount(root));
+        assertEquals(ByteString.of("url"), tape.string(tape.get(root, "announce")));
+
+        int info = tape.get(root, "info");
+        int files = tape.get(info, "files");
+        assertEquals(2, tape.childCount(files));
+        assertEquals(20, tape.number(tape.get(tape.get(files, 1), "length")));
+        assertEquals("qwe", tape.string(tape.get(info, "name")).toString());
+        assertEquals(-1, tape.get(info, "pieces"));
+        assertFalse(tape.hasNode(tape.next(root)));
+    }
+
+    @Test
+    public void numbers() {
+        Tape tape = parse("l i-5e i123456789012345678901234567890e e");
+        assertNotNull(tape);
+
+        assertEquals(-5, tape.number(tape.get(0, 0)));
+        assertEquals(new BigInteger("123456789012345678901234567890"), tape.bigNumber(tape.get(0, 1)));
+    }
+
+    @Test
+    public void sameTreeAsReader() {
+        String input = "d 4:adas i6e 3:fgh l l i435e 5:qwert d 2:gt i12e e i78e e e 6:kjftgy d e e i5e 3:qwe le";
+        Tape tape = parse(input);
+
+        assertNotNull(tape);
+        assertEquals(BencodeReader.parse(ByteInput.of(buffer(input)), new Reporter(10)), tape.toExpr());
+    }
+
+    @Test
+    public void invalidInput() {
+        assertNull(parse(""));
+        assertNull(parse("d 3:qwe i1e"));
+        assertNull(parse("d 3:qwe i1e 3:asd i2e e"));
+        assertNull(parse("l i1e"));
+    }
+
+    @Test
+    public void deepNestingWithoutRecursion() {
+        int depth = 100_000;
+        String input = "l".repeat(depth) + "d1:ai1e1:bl3:qweee" + "e".repeat(depth);
+        Tape tape = parse(input);
+        assertNotNull(tape);
+
+        Expr expr = tape.toExpr(tape.first());
+        for (int i = 0; i < depth; i++) expr = ((Expr.Array) expr).value().get(0);
+        assertEquals(new Expr.Number(1), ((Expr.Dictionary) expr).get("a"));
+        assertEquals(new Expr.Array(List.of(new Expr.Line(ByteString.of("qwe")))), ((Expr.Dictionary) expr).get("b"));
+        assertEquals(input, new String(BencodeEncoder.encode(tape.toExpr()), StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,95 @@
+package printer;
+
+import error.Reporter;
+import lexer.ByteInput;
+import lexer.ByteString;
+import org.junit.jupiter.api.Test;
+import parser.BencodeReader;
+import parser.Expr;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BencodeEncoderTest {
+
+    private static List<Expr> parse(byte[] input) {
+        return BencodeReader.parse(ByteInput.of(ByteBuffer.wrap(input)), new Reporter(10));
+    }
+
+    private static String encode(Expr... expressions) {
+        return new String(BencodeEncoder.encode(List.of(expressions)), StandardCharsets.ISO_8859_1);
+    }
+
+    @Test
+    public void roundTrip() {
+        byte[] input = ("d8:announce3:url4:infod5:filesld6:lengthi10e4:pathl1:a1:beed6:lengthi-20e4:pathl1:ceee"
+                + "4:name3:qwe6:piecesi123456789012345678901234567890eee").getBytes(StandardCharsets.US_ASCII);
+
+        assertArrayEquals(input, BencodeEncoder.encode(parse(input)));
+    }
+
+    @Test
+    public void binaryStrings() {
+        byte[] input = {'l', '2', ':', (byte) 0xFF, 0x00, '0', ':', 'e'};
+
+        assertArrayEquals(input, BencodeEncoder.encode(parse(input)));
+    }
+
+    @Test
+    public void canonicalOutput() {
+        assertEquals("d1:ai1e1:bl0:i0eee", new String(
+                BencodeEncoder.encode(parse(" d 1:a i1e 1:b l 0: i0e e e ".getBytes(StandardCharsets.US_ASCII))),
+                StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void sortedKeys() {
+        Map<ByteString, Expr> map = new LinkedHashMap<>();
+        map.put(ByteString.of("b"), new Expr.Number(2));
+        map.put(ByteString.of("\u044f"), new Expr.Number(4));
+        map.put(ByteString.of("a"), new Expr.Number(1));
+        map.put(ByteString.of("ab"), new Expr.Number(3));
+
+        assertEquals("d1:ai1e2:abi3e1:bi2e2:\u00d1\u008fi4ee", encode(new Expr.Dictionary(map)));
+    }
+
+    @Test
+    public void numbers() {
+        assertEquals("i0ei-7ei9223372036854775807ei-9223372036854775808ei-123456789012345678901234567890e",
+                encode(new Expr.Number(0), new Expr.Number(-7), new Expr.Number(Long.MAX_VALUE),
+                        new Expr.Number(Long.MIN_VALUE), new Expr.BigNumber(new BigInteger("-123456789012345678901234567890"))));
+    }
+
+    @Test
+    public void byteBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        List<Expr> expressions = List.of(new Expr.Array(List.of(new Expr.Line(ByteString.of("abc")), new Expr.Number(5))));
+
+        BencodeEncoder.encode(expressions, buffer);
+        assertEquals("l3:abci5ee", new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII));
+
+        buffer.clear();
+        BencodeEncoder.encode(expressions, buffer);
+        assertEquals(10, buffer.position());
+        assertThrows(BufferOverflowException.class, () -> BencodeEncoder.encode(expressions, ByteBuffer.allocate(4)));
+    }
+
+    @Test
+    public void largeOutput() {
+        StringBuilder input = new StringBuilder("l");
+        for (int i = 0; i < 5000; i++) input.append(i % 50).append(':').append("x".repeat(i % 50));
+        byte[] bytes = input.append('e').toString().getBytes(StandardCharsets.US_ASCII);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BencodeEncoder.encode(parse(bytes), out);
+        assertArrayEquals(bytes, out.toByteArray());
+    }
+}
@@ -0,0 +1,116 @@
+package printer;
+
+import error.Reporter;
+import lexer.ByteInput;
+import lexer.Lexer;
+import org.junit.jupiter.api.Test;
+import parser.BencodeReader;
+import parser.Expr;
+import parser.Parser;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonWriterTest {
+
+    private static ByteInput input(byte[] bytes) {
+        return ByteInput.of(ByteBuffer.wrap(bytes));
+    }
+
+    private static String print(String text) {
+        Reporter reporter = new Reporter(10);
+        List<Expr> expressions = Parser.parse(Lexer.scan(new BufferedReader(new StringReader(text)), reporter), reporter);
+
+        return expressions == null ? null : JsonPrinter.print(expressions);
+    }
+
+    private static String streamed(String text) {
+        StringWriter out = new StringWriter();
+        ByteInput input = input(text.getBytes(StandardCharsets.US_ASCII));
+
+        return BencodeReader.parse(input, JsonWriter.of(out), new Reporter(10)) ? out.toString() : null;
+    }
+
+    private static String transcode(byte[] input, BinaryFormat binaryFormat) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertTrue(Transcoder.transcode(input(input), out, binaryFormat, new Reporter(10)));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void binaryStrings() {
+        byte[] input = {'l', '3', ':', (byte) 0xff, 0x00, 0x10, '4', ':', (byte) 0xd1, (byte) 0x8f, 'a', 'b', 'e'};
+
+        assertEquals("[\"ff0010\", \"d18f6162\"]", transcode(input, BinaryFormat.HEX));
+        assertEquals("[\"/wAQ\", \"0Y9hYg==\"]", transcode(input, BinaryFormat.BASE64));
+        assertEquals("[\"\ufffd\\u0000\\u0010\", \"\u044fab\"]", transcode(input, BinaryFormat.UTF8));
+    }
+
+    @Test
+    public void binaryStringsFromTree() {
+        byte[] input = {'d', '4', ':', 'h', 'a', 's', 'h', '2', ':', (byte) 0xab, (byte) 0xcd, 'e'};
+        StringBuilder out = new StringBuilder();
+        List<Expr> expressions = BencodeReader.parse(input(input), new Reporter(10));
+
+        assertNotNull(expressions);
+        JsonPrinter.print(expressions, out, BinaryFormat.HEX);
+        assertEquals("{\n \"68617368\": \"abcd\"\n}", out.toString());
+        assertEquals("{\n \"aGFzaA==\": \"q80=\"\n}", transcode(input, BinaryFormat.BASE64));
+        assertEquals("{\n \"hash\": \"\ufffd\ufffd\"\n}", transcode(input, BinaryFormat.UTF8));
+    }
+
+    @Test
+    public void escaping() {
+        String input = "d 5:a\"b\\c 8:x\ty\nz\r\u0001\u001f 4:\u007f~/e l e e";
+        String expected = "{\n \"a\\\"b\\\\c\": \"x\\ty\\nz\\r\\u0001\\u001f\",\n \"\u007f~/e\": []\n}";
+
+        assertEquals(expected, streamed(input));
+        assertEquals(expected, transcode(input.getBytes(StandardCharsets.US_ASCII), BinaryFormat.UTF8));
+        assertEquals("\"\\\"q\\\\\"", print("3:\"q\\"));
+    }
+
+    @Test
+    public void escapingUtf8() {
+        byte[] input = {'2', '2', ':', (byte) 0xd1, (byte) 0x8f, '"', 'a', 'b', 'c', 'd', 'e', 'f', 'g', 'h', 'i', 'j', 'k',
+                'l', 'm', 'n', 'o', 'p', 'q', 'r', '\\'};
+
+        assertEquals("\"\u044f\\\"abcdefghijklmnopqr\\\\\"", transcode(input, BinaryFormat.UTF8));
+    }
+
+    @Test
+    public void compact() {
+        String input = "d 1:a d e 1:b l i1e 2:\"x d 1:c i-2e e e 1:d l e e i7e";
+        String expected = "{\"a\":{},\"b\":[1,\"\\\"x\",{\"c\":-2}],\"d\":[]}\n7";
+        byte[] bytes = input.getBytes(StandardCharsets.US_ASCII);
+        StringBuilder printed = new StringBuilder();
+        ByteArrayOutputStream transcoded = new ByteArrayOutputStream();
+
+        JsonPrinter.print(BencodeReader.parse(input(bytes), new Reporter(10)), printed,
+                BinaryFormat.UTF8, JsonFormat.COMPACT);
+        assertTrue(Transcoder.transcode(input(bytes), transcoded, BinaryFormat.UTF8,
+                JsonFormat.COMPACT, new Reporter(10)));
+
+        assertEquals(expected, printed.toString());
+        assertEquals(expected, transcoded.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void indent() {
+        byte[] bytes = "d 1:a d 1:b i1e e 1:c l d e e e".getBytes(StandardCharsets.US_ASCII);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertTrue(Transcoder.transcode(input(bytes), out, BinaryFormat.UTF8,
+                JsonFormat.pretty(4), new Reporter(10)));
+        assertEquals("{\n    \"a\": \n    {\n        \"b\": 1\n    },\n    \"c\": [\n    {\n\n    }]\n}",
+                out.toString(StandardCharsets.UTF_8));
+        assertSame(JsonFormat.PRETTY, JsonFormat.pretty(1));
+        assertThrows(IllegalArgumentException.class, () -> JsonFormat.pretty(-1));
+    }
+}
@@ -0,0 +1,57 @@
+package printer;
+
+import error.Reporter;
+import lexer.ByteInput;
+import lexer.Lexer;
+import org.junit.jupiter.api.Test;
+import parser.Expr;
+import parser.Parser;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TranscoderTest {
+
+    private static ByteInput input(String str) {
+        return ByteInput.of(ByteBuffer.wrap(str.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static String print(String text) {
+        Reporter reporter = new Reporter(10);
+        List<Expr> expressions = Parser.parse(Lexer.scan(new BufferedReader(new StringReader(text)), reporter), reporter);
+
+        return expressions == null ? null : JsonPrinter.print(expressions);
+    }
+
+    @Test
+    public void transcodedBytesMatchPrinter() {
+        String input = "d 4:adas i6e 3:fgh l i435e 5:qwert d 2:gt i12e e e 6:kjftgy d e e";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertTrue(Transcoder.transcode(input(input), out, new Reporter(10)));
+        assertEquals(print(input), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void transcodeInvalidInput() {
+        assertFalse(Transcoder.transcode(input("d 3:qwe i1e"), new ByteArrayOutputStream(), new Reporter(10)));
+    }
+
+    @Test
+    public void truncatedInputWritesNothing() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StringBuilder str = new StringBuilder("[");
+
+        assertFalse(Transcoder.transcode(input("d1:ai1e1:bl1:x"), out, new Reporter(10)));
+        assertFalse(Transcoder.transcode(input("d1:ai1e1:bl1:x"), str, new Reporter(10)));
+
+        assertEquals(0, out.size());
+        assertEquals("[", str.toString());
+    }
+}
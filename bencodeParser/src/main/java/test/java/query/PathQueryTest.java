@@ -0,0 +1,81 @@
+package query;
+
+import error.Reporter;
+import lexer.ByteInput;
+import lexer.ByteString;
+import org.junit.jupiter.api.Test;
+import parser.BencodeReader;
+import parser.Expr;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathQueryTest {
+
+    private static final String TORRENT = """
+            d 8:announce 3:url 4:info d
+                5:files l
+                    d 6:length i10e 4:path l 1:a 1:b e e
+                    d 6:length i20e 4:path l 1:c e e
+                e
+                4:name 3:qwe
+            e e
+            """;
+
+    private static ByteInput input(String text) {
+        return ByteInput.of(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static List<Expr> streamed(String path) {
+        return PathQuery.compile(path).evaluate(input(TORRENT), new Reporter(10));
+    }
+
+    private static List<Expr> fromTree(String path) {
+        return PathQuery.compile(path).evaluate(BencodeReader.parse(input(TORRENT), new Reporter(10)));
+    }
+
+    private static Expr line(String value) {
+        return new Expr.Line(ByteString.of(value));
+    }
+
+    @Test
+    public void key() {
+        assertEquals(List.of(line("url")), streamed("announce"));
+        assertEquals(List.of(line("qwe")), streamed("info.name"));
+        assertEquals(List.of(), streamed("info.pieces"));
+    }
+
+    @Test
+    public void wildcard() {
+        assertEquals(List.of(new Expr.Number(10), new Expr.Number(20)), streamed("info.files[*].length"));
+        assertEquals(List.of(line("a"), line("b"), line("c")), streamed("info.files[*].path[*]"));
+        assertEquals(List.of(line("qwe")), streamed("*.name"));
+    }
+
+    @Test
+    public void index() {
+        assertEquals(List.of(new Expr.Number(20)), streamed("info.files[1].length"));
+        assertEquals(List.of(), streamed("info.files[2].length"));
+    }
+
+    @Test
+    public void sameResultForTreeAndStream() {
+        for (String path : List.of("announce", "info", "info.files[*].path", "info.*", "info.files[0]", "*"))
+            assertEquals(fromTree(path), streamed(path), path);
+    }
+
+    @Test
+    public void invalidInput() {
+        assertNull(PathQuery.compile("announce").evaluate(input("d 8:announce 3:url 3:abc i1e"), new Reporter(10)));
+        assertNull(PathQuery.compile("a").evaluate(input("d 1:b i1e 1:a i2e e"), new Reporter(10)));
+    }
+
+    @Test
+    public void badPath() {
+        for (String path : List.of(".a", "a.", "a..b", "a[", "a[x]", "a.[0]"))
+            assertThrows(IllegalArgumentException.class, () -> PathQuery.compile(path), path);
+    }
+}
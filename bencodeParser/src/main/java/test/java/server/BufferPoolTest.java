@@ -0,0 +1,40 @@
+package server;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BufferPoolTest {
+
+    @Test
+    public void reuse() {
+        BufferPool pool = new BufferPool(2, 16, 64);
+        PooledBuffer buffer = pool.acquire();
+        buffer.write(1);
+        pool.release(buffer);
+
+        assertEquals(1, pool.available());
+        assertSame(buffer, pool.acquire());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void largeBuffersAreDropped() throws Exception {
+        BufferPool pool = new BufferPool(2, 16, 64);
+        PooledBuffer buffer = pool.acquire();
+        assertTrue(buffer.readFrom(new ByteArrayInputStream(new byte[100]), 1000));
+        assertEquals(100, buffer.asByteBuffer().remaining());
+
+        pool.release(buffer);
+        assertEquals(0, pool.available());
+    }
+
+    @Test
+    public void bodyLimit() throws Exception {
+        PooledBuffer buffer = new PooledBuffer(16);
+        assertTrue(buffer.readFrom(new ByteArrayInputStream(new byte[64]), 64));
+        assertFalse(new PooledBuffer(16).readFrom(new ByteArrayInputStream(new byte[65]), 64));
+    }
+}
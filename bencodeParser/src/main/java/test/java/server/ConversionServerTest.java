@@ -0,0 +1,152 @@
+package server;
+
+import metrics.Metrics;
+import metrics.Stage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConversionServerTest {
+
+    private static ConversionServer server;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void start() throws Exception {
+        server = ConversionServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterAll
+    static void stop() {
+        server.stop();
+    }
+
+    private static HttpRequest post(String path, byte[] body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.address().getPort() + path))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body)).build();
+    }
+
+    private static HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private static HttpResponse<String> post(String path, String body) throws Exception {
+        return send(post(path, body.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    public void convert() throws Exception {
+        HttpResponse<String> response = post("/convert", "d3:agei5e4:name5:a.isoe");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("application/json; charset=utf-8", response.headers().firstValue("Content-Type").orElseThrow());
+        assertEquals("{\n \"age\": 5,\n \"name\": \"a.iso\"\n}", response.body());
+    }
+
+    @Test
+    public void formatAndQuery() throws Exception {
+        byte[] body = {'d', '4', ':', 'h', 'a', 's', 'h', '2', ':', (byte) 0xFF, 0x00, 'e'};
+        HttpResponse<String> response = send(post("/convert?format=hex&query=hash", body));
+
+        assertEquals(200, response.statusCode());
+        assertEquals("\"ff00\"", response.body());
+    }
+
+    @Test
+    public void metrics() throws Exception {
+        long documents = Metrics.global().documents();
+        long transcoded = Metrics.global().stage(Stage.TRANSCODE).getCount();
+        post("/convert", "d3:agei5ee");
+        post("/convert", "d3:age");
+
+        HttpResponse<String> response = send(HttpRequest.newBuilder(
+                URI.create("http://localhost:" + server.address().getPort() + "/metrics")).GET().build());
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().startsWith("{\"documents\":"));
+        assertTrue(response.body().contains("\"transcode\":{\"count\":"));
+        assertEquals(documents + 2, Metrics.global().documents());
+        assertEquals(transcoded + 2, Metrics.global().stage(Stage.TRANSCODE).getCount());
+        assertEquals(405, post("/metrics", "").statusCode());
+    }
+
+    @Test
+    public void repeatedInputIsCached() throws Exception {
+        long hits = server.cache().getHits();
+        long transcoded = Metrics.global().stage(Stage.TRANSCODE).getCount();
+        String body = "d4:infod6:lengthi77e4:name6:cachedee";
+
+        HttpResponse<String> first = post("/convert", body);
+        HttpResponse<String> second = post("/convert", body);
+        HttpResponse<String> compact = post("/convert?compact=true", body);
+
+        assertEquals(200, second.statusCode());
+        assertEquals(first.body(), second.body());
+        assertEquals("{\"info\":{\"length\":77,\"name\":\"cached\"}}", compact.body());
+        assertEquals(hits + 1, server.cache().getHits());
+        assertEquals(transcoded + 2, Metrics.global().stage(Stage.TRANSCODE).getCount());
+        assertTrue(send(HttpRequest.newBuilder(URI.create("http://localhost:" + server.address().getPort() + "/metrics"))
+                .GET().build()).body().contains("\"cache\":{\"hits\":"));
+    }
+
+    @Test
+    public void compactAndIndent() throws Exception {
+        assertEquals("{\"age\":5,\"tags\":[1,2]}", post("/convert?compact=true", "d3:agei5e4:tagsli1ei2eee").body());
+        assertEquals("{\n  \"age\": 5\n}", post("/convert?indent=2", "d3:agei5ee").body());
+        assertEquals(400, post("/convert?indent=two", "i1e").statusCode());
+        assertEquals(400, post("/convert?indent=-1", "i1e").statusCode());
+        assertEquals(400, post("/convert?indent=99999999999", "i1e").statusCode());
+        assertTrue(post("/convert?indent=-1", "i1e").body().contains("Bad indent -1, expected a non-negative integer"));
+    }
+
+    @Test
+    public void invalidBencode() throws Exception {
+        HttpResponse<String> response = post("/convert", "d3:age");
+
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().startsWith("{\"status\": 400, \"error\": \"Invalid bencode\", \"messages\": [\""));
+        assertFalse(response.body().contains("\n"));
+
+        assertEquals(400, post("/convert", "").statusCode());
+        assertEquals(400, post("/convert?format=octal", "i1e").statusCode());
+        assertEquals(400, post("/convert?query=a..b", "i1e").statusCode());
+    }
+
+    @Test
+    public void onlyPost() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.address().getPort() + "/convert"))
+                .GET().build();
+        HttpResponse<String> response = send(request);
+
+        assertEquals(405, response.statusCode());
+        assertEquals("POST", response.headers().firstValue("Allow").orElseThrow());
+    }
+
+    @Test
+    public void concurrentRequests() throws Exception {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            responses.add(client.sendAsync(post("/convert", ("l i" + i + "e e").getBytes(StandardCharsets.US_ASCII)),
+                    HttpResponse.BodyHandlers.ofString()));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            HttpResponse<String> response = responses.get(i).get();
+            assertEquals(200, response.statusCode());
+            assertEquals("[" + i + "]", response.body());
+        }
+    }
+}